@@ -0,0 +1,60 @@
+package com.example.springjwt.controller;
+
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.JwtKeyRing;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.service.RefreshRotationService;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import com.example.springjwt.support.InMemoryRefreshSessionStore;
+import com.example.springjwt.support.InMemoryRefreshTokenStore;
+import com.example.springjwt.support.InMemoryTokenGenerationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+// /reissue 전체 경로 비용 측정 (Refresh 검증 → 저장소 확인 → 회전 → 응답 작성)
+// 매 호출마다 응답으로 받은 새 Refresh 토큰을 다음 요청 쿠키로 사용
+// 실행: ./gradlew jmh -PjmhInclude=ReissueControllerBenchmark
+@State(Scope.Thread)
+public class ReissueControllerBenchmark {
+
+    private static final String SECRET = "vmfhaltmskdlstkfkdgodyroqkfwkdbalroqkfwkdbalaaaaaaaaaaaaaaaabbbbb";
+
+    private ReissueController reissueController;
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reissue");
+
+    @Setup
+    public void setUp() {
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        JWTUtil jwtUtil = new JWTUtil(SECRET, new JwtKeyRing(null, null, 0L), authMetrics);
+        InMemoryRefreshTokenStore refreshTokenStore = new InMemoryRefreshTokenStore();
+        reissueController = new ReissueController(jwtUtil,
+                new RefreshRotationService(jwtUtil, refreshTokenStore, authMetrics,
+                        new RefreshSessionService(new InMemoryRefreshSessionStore(), authMetrics, 100), 10000L),
+                new TokenGenerationService(new InMemoryTokenGenerationStore(), authMetrics, 5000L, 100000L, 1), authMetrics,
+                new AuthRateLimiter((key, capacity, refillPerSecond, requested) -> requested, authMetrics, new StandardEnvironment(), false, 5L, 4L, 1000L));
+
+        String refresh = jwtUtil.createJwt("refresh", "user", "ROLE_ADMIN", 86400000L);
+        refreshTokenStore.save(refresh, "user");
+
+        request.setCookies(new Cookie("refresh", refresh));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> reissue() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> result = reissueController.reissue(request, response);
+        request.setCookies(response.getCookie("refresh"));
+        return result;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.springjwt.dto;
+
+import com.example.springjwt.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+// 권한 목록 조회 시 할당 비용 측정
+// 실행: ./gradlew jmh -PjmhInclude=CustomUserDetailsBenchmark
+@State(Scope.Benchmark)
+public class CustomUserDetailsBenchmark {
+
+    private CustomUserDetails customUserDetails;
+
+    @Setup
+    public void setUp() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUsername("user");
+        userEntity.setRole("ROLE_ADMIN");
+        customUserDetails = new CustomUserDetails(userEntity);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return customUserDetails.getAuthorities();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.support.InMemoryRefreshSessionStore;
+import com.example.springjwt.support.InMemoryRefreshTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+// /logout 이외의 요청이 CustomLogoutFilter를 통과할 때의 비용 측정 (모든 요청이 거치는 경로)
+// 요청당 할당량은 gc.alloc.rate.norm (B/op) 확인
+// 변경 전후 비교: 이전 커밋에서 ./gradlew jmh jmhSaveBaseline → 현재 커밋에서 ./gradlew jmh jmhCompare
+// 실행: ./gradlew jmh -PjmhInclude='CustomLogoutFilterBenchmark|JWTFilterBenchmark|CustomUserDetailsBenchmark'
+@State(Scope.Thread)
+public class CustomLogoutFilterBenchmark {
+
+    private CustomLogoutFilter logoutFilter;
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain filterChain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        JWTUtil jwtUtil = new JWTUtil(JWTUtilBenchmark.SECRET, new JwtKeyRing(null, null, 0L), authMetrics);
+        logoutFilter = new CustomLogoutFilter(jwtUtil, new InMemoryRefreshTokenStore(),
+                // Redis 연결 없이 생성 (통과 경로에서는 사용하지 않음)
+                new AccessTokenDenylist(new StringRedisTemplate(), new RedisMessageListenerContainer(), 100000, 0.01),
+                authMetrics, new RefreshSessionService(new InMemoryRefreshSessionStore(), authMetrics, 100));
+    }
+
+    @Benchmark
+    public void passThrough() throws Exception {
+        logoutFilter.doFilter(request, response, filterChain);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.TokenGenerationService;
+import com.example.springjwt.support.InMemoryTokenGenerationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// JWTFilter.doFilterInternal() 한 번의 전체 비용 측정 (헤더 파싱 → 검증 → SecurityContext 등록)
+// 실행: ./gradlew jmh -PjmhInclude=JWTFilterBenchmark
+@State(Scope.Thread)
+public class JWTFilterBenchmark {
+
+    // 검증 캐시 사용 여부에 따른 비교
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JWTFilter jwtFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain filterChain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        JWTUtil jwtUtil = new JWTUtil(JWTUtilBenchmark.SECRET, new JwtKeyRing(null, null, 0L), authMetrics);
+        jwtFilter = new JWTFilter(new VerifiedTokenCache(jwtUtil, cacheEnabled, 100000L, authMetrics),
+                new TokenGenerationService(new InMemoryTokenGenerationStore(), authMetrics, 5000L, 100000L, 1),
+                // Redis 연결 없이 생성 (초기 동기화는 실패 로그만 남기고 빈 폐기 목록으로 시작)
+                new AccessTokenDenylist(new StringRedisTemplate(), new RedisMessageListenerContainer(), 100000, 0.01),
+                authMetrics);
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.createJwt("access", "user", "ROLE_ADMIN", 600000L));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        jwtFilter.doFilterInternal(request, response, filterChain);
+    }
+
+}
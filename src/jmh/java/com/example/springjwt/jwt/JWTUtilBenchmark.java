@@ -0,0 +1,56 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 토큰 생성/파싱 비용 측정
+// 실행: ./gradlew jmh -PjmhInclude=JWTUtilBenchmark
+@State(Scope.Benchmark)
+public class JWTUtilBenchmark {
+
+    static final String SECRET = "vmfhaltmskdlstkfkdgodyroqkfwkdbalroqkfwkdbalaaaaaaaaaaaaaaaabbbbb";
+
+    private JWTUtil jwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil(SECRET, new JwtKeyRing(null, null, 0L), new AuthMetrics(new SimpleMeterRegistry()));
+        accessToken = jwtUtil.createJwt("access", "user", "ROLE_ADMIN", 600000L);
+    }
+
+    @Benchmark
+    public String createJwt() {
+        return jwtUtil.createJwt("access", "user", "ROLE_ADMIN", 600000L);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtil.verify(accessToken);
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return jwtUtil.getUsername(accessToken);
+    }
+
+    @Benchmark
+    public String getRole() {
+        return jwtUtil.getRole(accessToken);
+    }
+
+    @Benchmark
+    public String getCategory() {
+        return jwtUtil.getCategory(accessToken);
+    }
+
+    @Benchmark
+    public Boolean isExpired() {
+        return jwtUtil.isExpired(accessToken);
+    }
+
+}
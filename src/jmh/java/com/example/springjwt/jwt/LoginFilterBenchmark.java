@@ -0,0 +1,58 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.dto.CustomUserDetails;
+import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import com.example.springjwt.support.InMemoryRefreshSessionStore;
+import com.example.springjwt.support.InMemoryRefreshTokenStore;
+import com.example.springjwt.support.InMemoryTokenGenerationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+// 로그인 성공 이후 경로(Access/Refresh 발급, Refresh 저장, 쿠키/헤더 작성) 비용 측정
+// bcrypt 검증은 비밀번호 인코더 비용이 대부분이므로 여기서는 제외
+// 실행: ./gradlew jmh -PjmhInclude=LoginFilterBenchmark
+@State(Scope.Thread)
+public class LoginFilterBenchmark {
+
+    private LoginFilter loginFilter;
+    private Authentication authentication;
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+    private final FilterChain filterChain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        JWTUtil jwtUtil = new JWTUtil(JWTUtilBenchmark.SECRET, new JwtKeyRing(null, null, 0L), authMetrics);
+        loginFilter = new LoginFilter(auth -> auth, jwtUtil, new InMemoryRefreshTokenStore(),
+                new TokenGenerationService(new InMemoryTokenGenerationStore(), authMetrics, 5000L, 100000L, 1), authMetrics,
+                new AuthRateLimiter((key, capacity, refillPerSecond, requested) -> requested, authMetrics, new StandardEnvironment(), false, 5L, 4L, 1000L),
+                new RefreshSessionService(new InMemoryRefreshSessionStore(), authMetrics, 100));
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUsername("user");
+        userEntity.setRole("ROLE_ADMIN");
+        CustomUserDetails customUserDetails = new CustomUserDetails(userEntity);
+        authentication = new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse successfulAuthentication() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loginFilter.successfulAuthentication(request, response, filterChain, authentication);
+        return response;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 발급 형식별 토큰 크기와 생성/검증 비용 비교
+// 토큰 크기(Authorization 헤더/refresh 쿠키 값 길이)는 벤치마크 시작 시 출력
+// 실행: ./gradlew jmh -PjmhInclude=TokenFormatBenchmark
+@State(Scope.Benchmark)
+public class TokenFormatBenchmark {
+
+    @Param({"STANDARD", "COMPACT", "BINARY"})
+    public String format;
+
+    private JWTUtil jwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil(JWTUtilBenchmark.SECRET, new JwtKeyRing(null, null, 0L), new AuthMetrics(new SimpleMeterRegistry()), format);
+        accessToken = jwtUtil.createJwt("access", "user", "ROLE_ADMIN", 600000L);
+
+        String refreshToken = jwtUtil.createJwt("refresh", "user", "ROLE_ADMIN", 86400000L);
+        System.out.printf("%n%s: access token %d bytes, refresh token %d bytes%n", format, accessToken.length(), refreshToken.length());
+    }
+
+    @Benchmark
+    public String createJwt() {
+        return jwtUtil.createJwt("access", "user", "ROLE_ADMIN", 600000L);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtil.verify(accessToken);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.entity.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// 프로젝션 도입 전의 사용자 조회 (UserLookupBenchmark 비교용, 캐시 없음)
+// 엔티티 전체 컬럼을 조회하여 영속성 컨텍스트에 등록 (스냅샷/변경 감지 비용 포함)
+public interface LegacyUserRepository extends JpaRepository<UserEntity, Integer> {
+
+    UserEntity findByUsername(String username);
+}
@@ -0,0 +1,158 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.RefreshSession;
+import com.example.springjwt.dto.RefreshSessionPage;
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// 실제 Redis Cluster에서 Refresh 토큰 저장소/세션 목록 명령 확인 (RefreshClusterScalingTest는 인프로세스 대역)
+// 사용자마다 RedisRefreshTokenStore, RedisRefreshSessionStore를 그대로 사용하여 실행
+//   저장 → 재발급 스크립트(ROTATE_SCRIPT, 회전/유예 시간 내 재사용) → 세션 추가/교체/조회 → 세션 폐기 파이프라인 → 로그아웃 → 세션 목록 삭제
+// CROSSSLOT 오류나 결과 불일치가 하나라도 있으면 실패로 종료, 사용자 키가 여러 노드에 나뉘어 저장되었는지도 확인
+// 로컬 클러스터 예: redis-server --port 700{0,1,2} --cluster-enabled yes ... 후 redis-cli --cluster create 127.0.0.1:7000 127.0.0.1:7001 127.0.0.1:7002
+// 실행: ./gradlew refreshClusterCheck (추가 옵션: -PclusterNodes=127.0.0.1:7000,127.0.0.1:7001,127.0.0.1:7002 -Pusers=200)
+public class RefreshClusterCheck {
+
+    public static void main(String[] args) {
+
+        List<String> nodes = Arrays.asList((args.length > 0 ? args[0] : "127.0.0.1:7000,127.0.0.1:7001,127.0.0.1:7002").split(","));
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisClusterConfiguration(nodes));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            run(connectionFactory, users);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void run(LettuceConnectionFactory connectionFactory, int users) {
+
+        // RedisConfig.binaryRedisTemplate과 같은 설정
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.byteArray());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        RefreshTokenNearCache nearCache = new RefreshTokenNearCache(connectionFactory, new StringRedisTemplate(connectionFactory),
+                authMetrics, false, 1000L, false);
+
+        // 이전 형식 키 조회를 켜도 클러스터에서는 꺼져야 함 (해시 태그 없는 키가 섞이면 CROSSSLOT)
+        check(!RefreshTokenKeys.legacyKeysSupported(connectionFactory, true), "legacy keys must be disabled on a cluster");
+        RedisRefreshTokenStore tokenStore = new RedisRefreshTokenStore(redisTemplate, true, authMetrics, 10_000L, nearCache);
+        RedisRefreshSessionStore sessionStore = new RedisRefreshSessionStore(redisTemplate, tokenStore);
+
+        Set<String> masters = new HashSet<>();
+        RedisClusterConnection clusterConnection = connectionFactory.getClusterConnection();
+        try {
+            int crossSlot = 0;
+            int failed = 0;
+            String run = UUID.randomUUID().toString().substring(0, 8);
+            for (int i = 0; i < users; i++) {
+
+                String username = "cluster-check-" + run + "-" + i;
+                try {
+                    session(tokenStore, sessionStore, redisTemplate, username);
+                } catch (RuntimeException e) {
+                    if (isCrossSlot(e)) {
+                        crossSlot++;
+                    } else {
+                        failed++;
+                    }
+                    System.out.printf("%s: %s%n", username, e);
+                }
+
+                int slot = SlotHash.getSlot(RefreshTokenKeys.sessionIndexKey(username));
+                masters.add(clusterConnection.clusterGetNodeForSlot(slot).getId());
+            }
+
+            int clusterMasters = 0;
+            for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+                if (node.isMaster()) {
+                    clusterMasters++;
+                }
+            }
+            System.out.printf("users=%d masters=%d used-masters=%d cross-slot=%d failed=%d%n",
+                    users, clusterMasters, masters.size(), crossSlot, failed);
+
+            check(crossSlot == 0, crossSlot + " sessions failed with CROSSSLOT");
+            check(failed == 0, failed + " sessions failed");
+            check(clusterMasters < 2 || masters.size() > 1, "all users were placed on a single master");
+        } finally {
+            clusterConnection.close();
+        }
+    }
+
+    // 로그인 → 다른 기기 로그인 → 재발급 → 재시도 → 목록 조회 → 다른 기기 폐기 → 로그아웃 → 정리
+    private static void session(RedisRefreshTokenStore tokenStore, RedisRefreshSessionStore sessionStore,
+                                RedisTemplate<byte[], byte[]> redisTemplate, String username) {
+
+        String first = "refresh-" + UUID.randomUUID();
+        String other = "refresh-" + UUID.randomUUID();
+        TokenPair next = new TokenPair("access-" + UUID.randomUUID(), "refresh-" + UUID.randomUUID());
+
+        tokenStore.save(first, username);
+        sessionStore.add(first, username, "127.0.0.1", "cluster-check");
+        tokenStore.save(other, username);
+        sessionStore.add(other, username, "127.0.0.2", "cluster-check");
+        check(tokenStore.exists(first, username), "saved token not found");
+
+        // 재발급 스크립트 : 기존 키 + 회전 기록 + 재사용 표시 + 새 키 (모두 같은 슬롯)
+        check(tokenStore.rotate(first, next, username) == next, "rotation did not apply");
+        TokenPair shared = tokenStore.rotate(first, new TokenPair("access-retry", "refresh-retry"), username);
+        check(shared != null && next.getRefresh().equals(shared.getRefresh()), "retry within grace did not receive the rotated pair");
+        sessionStore.replace(first, next.getRefresh(), username);
+
+        RefreshSessionPage page = sessionStore.list(username, null, 10);
+        List<String> ids = page.getSessions().stream().map(RefreshSession::getId).toList();
+        check(ids.size() == 2 && ids.contains(RefreshSessionStore.sessionId(next.getRefresh())), "unexpected session list " + ids);
+
+        // 세션 폐기 (토큰 키 DEL + 목록 ZREM/HDEL 파이프라인)
+        check(sessionStore.revoke(username, List.of(RefreshSessionStore.sessionId(other))) == 1L, "session revoke did not delete the token");
+        check(!tokenStore.exists(other, username), "revoked token still exists");
+
+        check(tokenStore.delete(next.getRefresh(), username), "logout did not delete the token");
+        sessionStore.clear(username);
+
+        // 회전 기록/재사용 표시 키 정리 (여러 키 DEL도 같은 슬롯)
+        redisTemplate.delete(RefreshTokenKeys.rotateKeys(first, next.getRefresh(), username, false));
+    }
+
+    private static boolean isCrossSlot(Throwable e) {
+
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("CROSSSLOT")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void check(boolean condition, String message) {
+
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+}
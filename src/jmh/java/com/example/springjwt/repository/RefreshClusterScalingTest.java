@@ -0,0 +1,170 @@
+package com.example.springjwt.repository;
+
+import io.lettuce.core.cluster.SlotHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Refresh 토큰 키 형식별 Redis Cluster 확장성 비교 (인프로세스 클러스터 대역)
+// 노드 = 명령을 하나씩 처리하는 단일 스레드 (명령당 serviceMicros 소요), 키는 실제 클러스터와 같이 CRC16 해시 슬롯으로 노드에 배정
+// 세션 하나 = 로그인(저장) → 재발급(회전) → 로그아웃(삭제)
+//   global-index : @RedisHash 형식 (토큰 키 + phantom 키 + 전역 인덱스 Set "refresh", 모든 저장/삭제가 인덱스 키를 거침)
+//   hash-tagged  : RedisRefreshTokenStore 형식 (rt:{username}:{지문}, 재발급 스크립트의 모든 키가 같은 슬롯)
+// 노드 수를 늘렸을 때 hash-tagged는 처리량이 비례해서 늘고, global-index는 인덱스 키를 가진 노드에서 막힘
+// 노드를 흉내 낸 대역이므로 실제 클러스터에서 명령이 CROSSSLOT 없이 실행되는지는 RefreshClusterCheck로 확인
+// 실행: ./gradlew refreshClusterScalingTest (추가 옵션: -Pnodes=1,2,4,8 -Pclients=256 -PdurationSeconds=5 -PserviceMicros=200)
+public class RefreshClusterScalingTest {
+
+    private static final int SLOTS = 16384;
+
+    private static final byte[] GLOBAL_INDEX_KEY = "refresh".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+
+        String[] nodeCounts = (args.length > 0 ? args[0] : "1,2,4,8").split(",");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        long durationSeconds = args.length > 2 ? Long.parseLong(args[2]) : 5L;
+        long serviceMicros = args.length > 3 ? Long.parseLong(args[3]) : 200L;
+
+        System.out.printf("clients=%d duration=%ds service=%dµs/command%n", clients, durationSeconds, serviceMicros);
+        System.out.printf("%-14s %6s %14s %10s %12s%n", "layout", "nodes", "sessions/s", "scaling", "cross-slot");
+        for (String layout : new String[]{"global-index", "hash-tagged"}) {
+
+            double baseline = 0;
+            for (String nodeCount : nodeCounts) {
+
+                int nodes = Integer.parseInt(nodeCount.trim());
+                Result result = run(layout, nodes, clients, durationSeconds, serviceMicros);
+                if (baseline == 0) {
+                    baseline = result.sessionsPerSecond / nodes;
+                }
+                System.out.printf("%-14s %6d %14.0f %9.2fx %12d%n", layout, nodes, result.sessionsPerSecond,
+                        result.sessionsPerSecond / baseline, result.crossSlot);
+            }
+        }
+    }
+
+    private static Result run(String layout, int nodes, int clients, long durationSeconds, long serviceMicros) throws InterruptedException {
+
+        List<ExecutorService> cluster = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            cluster.add(Executors.newSingleThreadExecutor());
+        }
+        long serviceNanos = TimeUnit.MICROSECONDS.toNanos(serviceMicros);
+
+        LongAdder sessions = new LongAdder();
+        AtomicLong crossSlot = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            Thread client = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+
+                    String username = "user" + random.nextInt(1_000_000);
+                    String refresh = "refresh-" + random.nextLong();
+                    String next = "refresh-" + random.nextLong();
+
+                    for (List<byte[]> command : session(layout, username, refresh, next)) {
+
+                        int slot = slot(command, crossSlot);
+                        execute(cluster.get(slot * nodes / SLOTS), serviceNanos);
+                    }
+                    sessions.increment();
+                }
+            });
+            client.start();
+            threads.add(client);
+        }
+
+        long started = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        cluster.forEach(ExecutorService::shutdown);
+
+        return new Result(sessions.sum() / elapsedSeconds, crossSlot.get());
+    }
+
+    // 세션 하나에서 실행되는 명령 목록 (명령마다 다루는 키 목록)
+    private static List<List<byte[]>> session(String layout, String username, String refresh, String next) {
+
+        List<List<byte[]>> commands = new ArrayList<>();
+        if ("hash-tagged".equals(layout)) {
+
+            commands.add(List.of(RefreshTokenKeys.key(refresh, username)));                              // SET
+            commands.add(RefreshTokenKeys.rotateKeys(refresh, next, username, false));                   // EVAL (재발급 스크립트)
+            commands.add(RefreshTokenKeys.keys(next, username, false));                                  // DEL
+            return commands;
+        }
+
+        // 저장 : 토큰 해시(HSET + EXPIRE), 인덱스 Set(SADD), phantom 해시 / 삭제 : 토큰 키, phantom 키(DEL), 인덱스 Set(SREM)
+        for (String token : new String[]{refresh, next}) {
+            commands.add(List.of(bytes("refresh:" + token)));
+            commands.add(List.of(GLOBAL_INDEX_KEY));
+            commands.add(List.of(bytes("refresh:" + token + ":phantom")));
+        }
+        for (String token : new String[]{refresh, next}) {
+            commands.add(List.of(bytes("refresh:" + token)));
+            commands.add(List.of(bytes("refresh:" + token + ":phantom")));
+            commands.add(List.of(GLOBAL_INDEX_KEY));
+        }
+
+        return commands;
+    }
+
+    // 명령의 슬롯 (키들이 서로 다른 슬롯이면 실제 클러스터에서는 CROSSSLOT 오류)
+    private static int slot(List<byte[]> keys, AtomicLong crossSlot) {
+
+        int slot = SlotHash.getSlot(keys.get(0));
+        for (int i = 1; i < keys.size(); i++) {
+            if (SlotHash.getSlot(keys.get(i)) != slot) {
+                crossSlot.incrementAndGet();
+                break;
+            }
+        }
+
+        return slot;
+    }
+
+    // 노드에서 명령 처리 (노드당 한 번에 하나씩, 응답을 받을 때까지 대기)
+    private static void execute(ExecutorService node, long serviceNanos) {
+
+        try {
+            node.submit(() -> LockSupport.parkNanos(serviceNanos)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class Result {
+
+        final double sessionsPerSecond;
+        final long crossSlot;
+
+        Result(double sessionsPerSecond, long crossSlot) {
+
+            this.sessionsPerSecond = sessionsPerSecond;
+            this.crossSlot = crossSlot;
+        }
+
+    }
+
+}
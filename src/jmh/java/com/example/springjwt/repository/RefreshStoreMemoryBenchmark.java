@@ -0,0 +1,102 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.JwtKeyRing;
+import com.example.springjwt.metrics.AuthMetrics;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+
+// Refresh 토큰 저장 형식별 Redis 메모리 사용량 비교
+//   legacy : @RedisHash 형식 (해시 + 인덱스 Set + phantom 키, 키는 토큰 원문)
+//   compact : RedisRefreshTokenStore 형식 (rt:{username}:{16바이트 지문} → username)
+// 실행: ./gradlew refreshStoreMemoryBenchmark -Psessions=100000 -PredisUri=redis://localhost:6379/15
+// 주의: 지정한 DB를 FLUSHDB 하므로 반드시 테스트용 Redis/DB에서 실행
+public class RefreshStoreMemoryBenchmark {
+
+    private static final String SECRET = "vmfhaltmskdlstkfkdgodyroqkfwkdbalroqkfwkdbalaaaaaaaaaaaaaaaabbbbb";
+
+    public static void main(String[] args) {
+
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String redisUri = args.length > 1 ? args[1] : "redis://localhost:6379/15";
+
+        JWTUtil jwtUtil = new JWTUtil(SECRET, new JwtKeyRing(null, null, 0L), new AuthMetrics(new SimpleMeterRegistry()));
+        String[] tokens = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            tokens[i] = jwtUtil.createJwt("refresh", "user" + i, "ROLE_ADMIN", 86400000L);
+        }
+
+        RedisClient client = RedisClient.create(redisUri);
+        try (StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE)) {
+
+            RedisCommands<byte[], byte[]> redis = connection.sync();
+
+            long legacy = measure(redis, () -> {
+                for (int i = 0; i < sessions; i++) {
+                    writeLegacy(redis, tokens[i], "user" + i);
+                }
+            });
+            long compact = measure(redis, () -> {
+                for (int i = 0; i < sessions; i++) {
+                    redis.setex(RefreshTokenKeys.key(tokens[i], "user" + i), 86400, bytes("user" + i));
+                }
+            });
+
+            System.out.printf("sessions=%d token=%dB%n", sessions, tokens[0].length());
+            System.out.printf("legacy  : %,d bytes (%,d B/session)%n", legacy, legacy / sessions);
+            System.out.printf("compact : %,d bytes (%,d B/session)%n", compact, compact / sessions);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    // @RedisHash(value = "refresh", timeToLive = 86400) 저장 시 생성되던 키 구성
+    private static void writeLegacy(RedisCommands<byte[], byte[]> redis, String token, String username) {
+
+        byte[] key = bytes("refresh:" + token);
+        byte[] phantom = bytes("refresh:" + token + ":phantom");
+
+        redis.hset(key, bytes("_class"), bytes("com.example.springjwt.entity.RefreshEntity"));
+        redis.hset(key, bytes("refresh"), bytes(token));
+        redis.hset(key, bytes("username"), bytes(username));
+        redis.expire(key, 86400);
+        redis.sadd(bytes("refresh"), bytes(token));
+
+        redis.hset(phantom, bytes("_class"), bytes("com.example.springjwt.entity.RefreshEntity"));
+        redis.hset(phantom, bytes("refresh"), bytes(token));
+        redis.hset(phantom, bytes("username"), bytes(username));
+        redis.expire(phantom, 86400 + 300);
+    }
+
+    private static long measure(RedisCommands<byte[], byte[]> redis, Runnable writer) {
+
+        redis.flushdb();
+        long before = usedMemory(redis);
+        writer.run();
+        long after = usedMemory(redis);
+        redis.flushdb();
+
+        return after - before;
+    }
+
+    private static long usedMemory(RedisCommands<byte[], byte[]> redis) {
+
+        for (String line : redis.info("memory").split("\r?\n")) {
+            if (line.startsWith("used_memory:")) {
+                return Long.parseLong(line.substring("used_memory:".length()).trim());
+            }
+        }
+
+        throw new IllegalStateException("used_memory not found");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.SpringJwtApplication;
+import com.example.springjwt.dto.CustomUserDetails;
+import com.example.springjwt.dto.UserCredentials;
+import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 로그인 시 사용자 조회 비용 측정 (loadtest 프로필의 H2 인메모리 DB, MySQL 호환 모드, 실제 JPA 저장소 메서드 호출)
+// indexed    : username 유니크 인덱스(uk_user_username) 유무
+// projection : false면 엔티티 전체 조회(LegacyUserRepository.findByUsername, 영속성 컨텍스트 등록 포함)
+//              true면 인증 컬럼만 조회(UserRepository.findCredentialsByUsername)
+// 두 변수를 따로 바꾸어 4가지 조합을 측정, 사용자 조회 캐시는 꺼서(spring.cache.type=none) 매번 DB 조회
+// findUser : DB 조회만, login : 조회 + bcrypt 검증(cost 4)까지 포함한 로그인 인증 전체
+// 실행: ./gradlew jmh -PjmhInclude=UserLookupBenchmark
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    private static final String PASSWORD = "password";
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    @Param({"false", "true"})
+    public boolean projection;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private LegacyUserRepository legacyUserRepository;
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = new SpringApplicationBuilder(SpringJwtApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0", "--loadtest.users=0", "--spring.cache.type=none",
+                        "--spring.password.bcrypt-strength=4",
+                        "--spring.datasource.url=jdbc:h2:mem:users-" + indexed + "-" + projection + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        userRepository = context.getBean(UserRepository.class);
+        legacyUserRepository = context.getBean(LegacyUserRepository.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        // 100만 건은 JPA saveAll 대신 SQL 한 번으로 저장 (모든 사용자가 같은 bcrypt 해시 공유)
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            jdbcTemplate.execute("alter table UserEntity drop constraint uk_user_username");
+        }
+        jdbcTemplate.update("insert into UserEntity (id, password, role, username) select x, ?, 'ROLE_USER', 'user' || x from system_range(1, " + users + ")",
+                passwordEncoder.encode(PASSWORD));
+
+        // 로그인 인증: projection=true는 실제 CustomUserDetailsService, false는 같은 변환을 엔티티 조회로 수행
+        UserDetailsService userDetailsService = projection ? context.getBean(CustomUserDetailsService.class) : username -> {
+
+            UserEntity userData = legacyUserRepository.findByUsername(username);
+            if (userData == null) {
+                throw new UsernameNotFoundException("user not found: " + username);
+            }
+            return new CustomUserDetails(userData);
+        };
+        authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String findUser() {
+
+        String username = randomUsername();
+        if (projection) {
+            UserCredentials credentials = userRepository.findCredentialsByUsername(username);
+            return credentials == null ? null : credentials.getPassword();
+        }
+
+        UserEntity userData = legacyUserRepository.findByUsername(username);
+        return userData == null ? null : userData.getPassword();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return authenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(randomUsername(), PASSWORD));
+    }
+
+    private String randomUsername() {
+        return "user" + (ThreadLocalRandom.current().nextInt(users) + 1);
+    }
+
+}
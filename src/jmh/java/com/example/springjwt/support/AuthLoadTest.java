@@ -0,0 +1,266 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.SpringJwtApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// 인증 전체 흐름 부하 테스트 (MySQL, Redis 없이 LoadTestStandIns로 애플리케이션을 띄운 뒤 HTTP로 호출)
+// 가상 사용자 하나의 세션 = 로그인 → 인증된 GET(/ 70%, /admin 30%) requestsPerSession번 (reissueEvery번마다 재발급) → 로그아웃
+// 엔드포인트별 처리량, p50/p99/p999 지연, 오류율을 출력하고 JSON 파일로 저장 (릴리스 간 비교용)
+// 실행: ./gradlew authLoadTest
+// 추가 옵션: -PvirtualUsers=200 -PdurationSeconds=60 -PwarmupSeconds=10 -Pusers=1000
+//           -PrequestsPerSession=20 -PreissueEvery=5 -PloadTestOutput=build/results/loadtest/results.json
+// Refresh 토큰 저장소 장애 주입: -PstoreLatencyMs=0 -PstoreFailureRate=0 -PstoreOutageAfterSeconds=0 -PstoreOutageSeconds=0
+//           (예: 워밍업 후 20초 동안 Redis 장애 → -PstoreOutageAfterSeconds=30 -PstoreOutageSeconds=20)
+public class AuthLoadTest {
+
+    // 측정 대상 엔드포인트
+    enum Endpoint {
+
+        LOGIN("POST /login"),
+        MAIN("GET /"),
+        ADMIN("GET /admin"),
+        REISSUE("POST /reissue"),
+        LOGOUT("POST /logout");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+    }
+
+    // 엔드포인트별 집계 (측정 구간에 시작한 요청만 기록)
+    static class EndpointStats {
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Endpoint, EndpointStats> stats = new LinkedHashMap<>();
+
+    private final String baseUrl;
+    private final int users;
+    private final int requestsPerSession;
+    private final int reissueEvery;
+
+    // 이 시각 이후에 시작한 요청만 기록 (워밍업 제외)
+    private volatile long measureFrom;
+
+    AuthLoadTest(String baseUrl, int users, int requestsPerSession, int reissueEvery) {
+
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.requestsPerSession = requestsPerSession;
+        this.reissueEvery = reissueEvery;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        int virtualUsers = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long durationSeconds = args.length > 1 ? Long.parseLong(args[1]) : 60L;
+        long warmupSeconds = args.length > 2 ? Long.parseLong(args[2]) : 10L;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int requestsPerSession = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+        int reissueEvery = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+        File output = new File(args.length > 6 ? args[6] : "build/results/loadtest/results.json");
+        String storeLatencyMs = args.length > 7 ? args[7] : "0";
+        String storeFailureRate = args.length > 8 ? args[8] : "0";
+        String storeOutageAfterSeconds = args.length > 9 ? args[9] : "0";
+        String storeOutageSeconds = args.length > 10 ? args[10] : "0";
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringJwtApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0", "--loadtest.users=" + users,
+                        "--loadtest.refresh-store.latency-ms=" + storeLatencyMs,
+                        "--loadtest.refresh-store.failure-rate=" + storeFailureRate,
+                        "--loadtest.refresh-store.outage-after-seconds=" + storeOutageAfterSeconds,
+                        "--loadtest.refresh-store.outage-seconds=" + storeOutageSeconds);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            AuthLoadTest loadTest = new AuthLoadTest("http://localhost:" + port, users, requestsPerSession, reissueEvery);
+
+            long measuredNanos = loadTest.run(virtualUsers, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds));
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("timestamp", Instant.now().toString());
+            result.put("virtualUsers", virtualUsers);
+            result.put("durationSeconds", durationSeconds);
+            result.put("warmupSeconds", warmupSeconds);
+            result.put("users", users);
+            result.put("requestsPerSession", requestsPerSession);
+            result.put("reissueEvery", reissueEvery);
+            result.put("storeLatencyMs", Long.parseLong(storeLatencyMs));
+            result.put("storeFailureRate", Double.parseDouble(storeFailureRate));
+            result.put("storeOutageAfterSeconds", Long.parseLong(storeOutageAfterSeconds));
+            result.put("storeOutageSeconds", Long.parseLong(storeOutageSeconds));
+            result.put("endpoints", loadTest.report(measuredNanos));
+
+            output.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, result);
+            System.out.println("results: " + output.getAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    // 가상 사용자 스레드를 실행하고 측정 구간 길이(ns) 반환
+    long run(int virtualUsers, Duration warmup, Duration duration) throws InterruptedException {
+
+        long started = System.nanoTime();
+        measureFrom = started + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        List<Thread> threads = new ArrayList<>(virtualUsers);
+        for (int v = 0; v < virtualUsers; v++) {
+            int virtualUser = v;
+            Thread thread = new Thread(() -> {
+                String username = LoadTestStandIns.USERNAME_PREFIX + (virtualUser % users);
+                while (System.nanoTime() < deadline) {
+                    session(username);
+                }
+            }, "vu-" + v);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        return System.nanoTime() - measureFrom;
+    }
+
+    private void session(String username) {
+
+        HttpResponse<Void> login = send(Endpoint.LOGIN, HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + username + "&password=" + LoadTestStandIns.PASSWORD)));
+        if (login == null) {
+            return;
+        }
+
+        String access = login.headers().firstValue("Authorization").orElse(null);
+        String refresh = refreshCookie(login);
+
+        for (int i = 1; i <= requestsPerSession; i++) {
+
+            Endpoint endpoint = ThreadLocalRandom.current().nextInt(10) < 7 ? Endpoint.MAIN : Endpoint.ADMIN;
+            send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + (endpoint == Endpoint.MAIN ? "/" : "/admin")))
+                    .header("Authorization", access)
+                    .GET());
+
+            if (i % reissueEvery == 0) {
+
+                HttpResponse<Void> reissue = send(Endpoint.REISSUE, HttpRequest.newBuilder(URI.create(baseUrl + "/reissue"))
+                        .header("Cookie", "refresh=" + refresh)
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+                if (reissue == null) {
+                    return;
+                }
+                access = reissue.headers().firstValue("Authorization").orElse(access);
+                refresh = refreshCookie(reissue);
+            }
+        }
+
+        send(Endpoint.LOGOUT, HttpRequest.newBuilder(URI.create(baseUrl + "/logout"))
+                .header("Authorization", access)
+                .header("Cookie", "refresh=" + refresh)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    // 요청 전송 및 기록 (200이 아니거나 I/O 오류면 오류로 집계하고 null 반환)
+    private HttpResponse<Void> send(Endpoint endpoint, HttpRequest.Builder request) {
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = null;
+        try {
+            response = client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 연결 실패, 타임아웃 등은 오류로 집계
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean ok = response != null && response.statusCode() == 200;
+        if (start >= measureFrom) {
+
+            EndpointStats endpointStats = stats.get(endpoint);
+            endpointStats.requests.increment();
+            endpointStats.latencies.record(elapsed);
+            if (!ok) {
+                endpointStats.errors.increment();
+            }
+        }
+
+        return ok ? response : null;
+    }
+
+    private static String refreshCookie(HttpResponse<Void> response) {
+
+        for (String cookie : response.headers().allValues("Set-Cookie")) {
+            if (cookie.startsWith("refresh=")) {
+                int end = cookie.indexOf(';');
+                return cookie.substring("refresh=".length(), end < 0 ? cookie.length() : end);
+            }
+        }
+
+        return null;
+    }
+
+    // 엔드포인트별 결과 출력 및 JSON 결과 생성
+    Map<String, Object> report(long measuredNanos) {
+
+        double seconds = measuredNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%-15s %10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "errors");
+        stats.forEach((endpoint, endpointStats) -> {
+
+            long requests = endpointStats.requests.sum();
+            long errors = endpointStats.errors.sum();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", requests);
+            result.put("throughput", requests / seconds);
+            result.put("p50Ms", endpointStats.latencies.percentileMillis(0.50));
+            result.put("p99Ms", endpointStats.latencies.percentileMillis(0.99));
+            result.put("p999Ms", endpointStats.latencies.percentileMillis(0.999));
+            result.put("errors", errors);
+            result.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+            endpoints.put(endpoint.label, result);
+
+            System.out.printf("%-15s %10d %10.0f %10.2f %10.2f %10.2f %7.2f%%%n", endpoint.label, requests, result.get("throughput"),
+                    result.get("p50Ms"), result.get("p99Ms"), result.get("p999Ms"), (double) result.get("errorRate") * 100);
+        });
+
+        return endpoints;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.repository.RefreshTokenStore;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 부하 테스트용 Redis 대역 (지연, 실패, 일정 시간 동안의 장애를 주입)
+// ResilientRefreshTokenStore의 서킷 브레이커/대체 모드/복구 후 반영 동작을 Redis 없이 확인하기 위해 사용
+// 실패는 Lettuce 명령 타임아웃과 같은 예외(QueryTimeoutException)로 발생
+public class FaultInjectingRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenStore delegate;
+
+    private final long latencyMs;
+    private final double failureRate;
+
+    // 장애 구간 (System.nanoTime 기준, 이 구간에는 timeoutMs만큼 기다린 뒤 모든 호출 실패)
+    private final long outageFrom;
+    private final long outageUntil;
+    private final long timeoutMs;
+
+    public FaultInjectingRefreshTokenStore(RefreshTokenStore delegate, long latencyMs, double failureRate,
+                                           long outageAfterSeconds, long outageSeconds, long timeoutMs) {
+
+        this.delegate = delegate;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.outageFrom = System.nanoTime() + outageAfterSeconds * 1_000_000_000L;
+        this.outageUntil = outageFrom + outageSeconds * 1_000_000_000L;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void save(String refresh, String username) {
+
+        inject();
+        delegate.save(refresh, username);
+    }
+
+    @Override
+    public boolean exists(String refresh, String username) {
+
+        inject();
+        return delegate.exists(refresh, username);
+    }
+
+    @Override
+    public boolean delete(String refresh, String username) {
+
+        inject();
+        return delegate.delete(refresh, username);
+    }
+
+    @Override
+    public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+        inject();
+        return delegate.rotate(oldRefresh, next, username);
+    }
+
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        inject();
+        return delegate.revoke(username, sessionIds);
+    }
+
+    private void inject() {
+
+        long now = System.nanoTime();
+        if (now >= outageFrom && now < outageUntil) {
+            sleep(timeoutMs);
+            throw new QueryTimeoutException("injected outage");
+        }
+
+        sleep(latencyMs);
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new QueryTimeoutException("injected failure");
+        }
+    }
+
+    private static void sleep(long millis) {
+
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
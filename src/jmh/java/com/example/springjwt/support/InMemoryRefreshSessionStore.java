@@ -0,0 +1,101 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.dto.RefreshSession;
+import com.example.springjwt.dto.RefreshSessionPage;
+import com.example.springjwt.repository.RefreshSessionStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 벤치마크용 RefreshSessionStore (세션 목록만 보관, 폐기해도 Refresh 토큰 저장소는 변경하지 않음, 생명 주기 정리 없음)
+public class InMemoryRefreshSessionStore implements RefreshSessionStore {
+
+    private static final Comparator<RefreshSession> NEWEST_FIRST = Comparator.comparingLong(RefreshSession::getIssuedAt)
+            .thenComparing(RefreshSession::getId)
+            .reversed();
+
+    private final Map<String, Map<String, RefreshSession>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(String refresh, String username, String ip, String device) {
+
+        long now = System.currentTimeMillis();
+        String id = RefreshSessionStore.sessionId(refresh);
+        sessions(username).put(id, new RefreshSession(id, now, now, ip, device, false));
+    }
+
+    @Override
+    public void replace(String oldRefresh, String newRefresh, String username) {
+
+        long now = System.currentTimeMillis();
+        String id = RefreshSessionStore.sessionId(newRefresh);
+        RefreshSession old = sessions(username).remove(RefreshSessionStore.sessionId(oldRefresh));
+        sessions(username).put(id, old == null
+                ? new RefreshSession(id, now, now, null, null, false)
+                : new RefreshSession(id, now, old.getLoginAt(), old.getIp(), old.getDevice(), false));
+    }
+
+    @Override
+    public void remove(String refresh, String username) {
+        sessions(username).remove(RefreshSessionStore.sessionId(refresh));
+    }
+
+    @Override
+    public RefreshSessionPage list(String username, String cursor, int size) {
+
+        long maxIssuedAt = Long.MAX_VALUE;
+        String afterId = null;
+        if (cursor != null) {
+
+            int separator = cursor.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("invalid session cursor: " + cursor);
+            }
+            maxIssuedAt = Long.parseLong(cursor.substring(0, separator));
+            afterId = cursor.substring(separator + 1);
+        }
+
+        List<RefreshSession> all = new ArrayList<>(sessions(username).values());
+        all.sort(NEWEST_FIRST);
+
+        List<RefreshSession> page = new ArrayList<>(size);
+        for (RefreshSession session : all) {
+
+            boolean seen = session.getIssuedAt() > maxIssuedAt
+                    || (afterId != null && session.getIssuedAt() == maxIssuedAt && session.getId().compareTo(afterId) >= 0);
+            if (!seen && page.size() < size) {
+                page.add(session);
+            }
+        }
+        RefreshSession last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return new RefreshSessionPage(page, page.size() == size ? last.getIssuedAt() + ":" + last.getId() : null);
+    }
+
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        long revoked = 0L;
+        for (String id : sessionIds) {
+            if (sessions(username).remove(id) != null) {
+                revoked++;
+            }
+        }
+
+        return revoked;
+    }
+
+    @Override
+    public void clear(String username) {
+        sessions.remove(username);
+    }
+
+    private Map<String, RefreshSession> sessions(String username) {
+        return sessions.computeIfAbsent(username, key -> new ConcurrentHashMap<>());
+    }
+
+}
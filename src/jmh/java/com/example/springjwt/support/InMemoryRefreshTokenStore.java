@@ -0,0 +1,60 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.repository.RefreshSessionStore;
+import com.example.springjwt.repository.RefreshTokenStore;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 벤치마크용 RefreshTokenStore (Redis 없이 토큰 발급/재발급 경로의 CPU 비용만 측정)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+
+    // 회전 기록 (벤치마크 동안만 사용하므로 유예 시간 없이 보관)
+    private final Map<String, TokenPair> rotations = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String refresh, String username) {
+        store.put(refresh, username);
+    }
+
+    @Override
+    public boolean exists(String refresh, String username) {
+        return store.containsKey(refresh);
+    }
+
+    @Override
+    public boolean delete(String refresh, String username) {
+        return store.remove(refresh) != null;
+    }
+
+    @Override
+    public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+        if (store.remove(oldRefresh) == null) {
+            return rotations.get(oldRefresh);
+        }
+        store.put(next.getRefresh(), username);
+        rotations.put(oldRefresh, next);
+
+        return next;
+    }
+
+    // 세션 ID로 찾는 색인이 없으므로 전체 토큰을 확인 (벤치마크에서는 세션 폐기를 측정하지 않음)
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        long revoked = 0L;
+        for (String refresh : store.keySet()) {
+            if (sessionIds.contains(RefreshSessionStore.sessionId(refresh)) && store.remove(refresh, username)) {
+                revoked++;
+            }
+        }
+
+        return revoked;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.repository.TokenGenerationStore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 벤치마크용 TokenGenerationStore
+public class InMemoryTokenGenerationStore implements TokenGenerationStore {
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public long get(String username) {
+        return generations.getOrDefault(username, 0L);
+    }
+
+    @Override
+    public long increment(String username) {
+        return generations.merge(username, 1L, Long::sum);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.repository.RefreshSessionStore;
+import com.example.springjwt.repository.RefreshTokenStore;
+import com.example.springjwt.repository.UserRepository;
+import com.example.springjwt.service.AccessTokenDenylist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("loadtest")
+// 부하 테스트(AuthLoadTest)용 인프로세스 대체 빈 (MySQL, Redis 없이 실행)
+// UserRepository는 H2 인메모리 DB(application-loadtest.properties), Redis 저장소는 같은 이름의 인메모리 빈으로 교체
+// Refresh 토큰 저장소에는 지연/실패/장애를 주입할 수 있음 (loadtest.refresh-store.*, 기본값은 주입 없음)
+public class LoadTestStandIns {
+
+    // 시드 사용자 (user0 ~ user{n-1}, 비밀번호는 모두 동일)
+    static final String USERNAME_PREFIX = "user";
+    static final String PASSWORD = "loadtest-password";
+
+    @Bean
+    public RefreshTokenStore redisRefreshTokenStore(@Value("${loadtest.refresh-store.latency-ms:0}") long latencyMs,
+                                                    @Value("${loadtest.refresh-store.failure-rate:0}") double failureRate,
+                                                    @Value("${loadtest.refresh-store.outage-after-seconds:0}") long outageAfterSeconds,
+                                                    @Value("${loadtest.refresh-store.outage-seconds:0}") long outageSeconds,
+                                                    @Value("${spring.data.redis.timeout:250ms}") Duration timeout) {
+
+        return new FaultInjectingRefreshTokenStore(new InMemoryRefreshTokenStore(), latencyMs, failureRate,
+                outageAfterSeconds, outageSeconds, timeout.toMillis());
+    }
+
+    @Bean
+    public RefreshSessionStore redisRefreshSessionStore() {
+        return new InMemoryRefreshSessionStore();
+    }
+
+    @Bean
+    public InMemoryTokenGenerationStore redisTokenGenerationStore() {
+        return new InMemoryTokenGenerationStore();
+    }
+
+    // Redis에 연결하지 않도록 자동 시작하지 않음 (구독은 LocalAccessTokenDenylist가 대신 처리)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setAutoStartup(false);
+
+        return container;
+    }
+
+    @Bean
+    public AccessTokenDenylist accessTokenDenylist(RedisMessageListenerContainer listenerContainer,
+                                                   @Value("${spring.jwt.denylist.expected-insertions:100000}") int expectedInsertions,
+                                                   @Value("${spring.jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new LocalAccessTokenDenylist(listenerContainer, expectedInsertions, falsePositiveRate);
+    }
+
+    // 시드 사용자 저장 (bcrypt 해시는 한 번만 계산하여 모든 사용자가 공유)
+    @Bean
+    public ApplicationRunner loadTestUsers(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                           @Value("${loadtest.users:1000}") int users) {
+
+        return args -> {
+            String hash = passwordEncoder.encode(PASSWORD);
+            List<UserEntity> entities = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+
+                UserEntity user = new UserEntity();
+                user.setUsername(USERNAME_PREFIX + i);
+                user.setPassword(hash);
+                user.setRole("ROLE_ADMIN");
+                entities.add(user);
+            }
+            userRepository.saveAll(entities);
+        };
+    }
+
+    // Redis 대신 같은 프로세스 안에서 폐기 메시지를 바로 처리하는 폐기 목록 (Bloom 필터/정확한 목록 경로는 그대로 사용)
+    static class LocalAccessTokenDenylist extends AccessTokenDenylist {
+
+        private static final byte[] CHANNEL = "denylist:access".getBytes(StandardCharsets.UTF_8);
+
+        LocalAccessTokenDenylist(RedisMessageListenerContainer listenerContainer, int expectedInsertions, double falsePositiveRate) {
+            super(new StringRedisTemplate(), listenerContainer, expectedInsertions, falsePositiveRate);
+        }
+
+        @Override
+        public boolean revoke(String jti, long expirationMs) {
+
+            onMessage(new DefaultMessage(CHANNEL, (jti + ":" + expirationMs).getBytes(StandardCharsets.UTF_8)), null);
+            return true;
+        }
+
+        // Redis와 재동기화하지 않음 (테스트 시간 동안 만료 항목 정리는 생략)
+        @Override
+        public void rebuild() {
+        }
+
+    }
+
+}
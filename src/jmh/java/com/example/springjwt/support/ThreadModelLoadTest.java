@@ -0,0 +1,115 @@
+package com.example.springjwt.support;
+
+import com.example.springjwt.SpringJwtApplication;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 플랫폼 스레드(Tomcat 기본 200개)와 가상 스레드(virtual 프로파일) 모드에서 실제 애플리케이션의 처리량/지연 및 캐리어 스레드 고정(pinning) 확인
+// AuthLoadTest와 같이 LoadTestStandIns(loadtest 프로파일)로 애플리케이션을 띄워 HTTP로 인증 전체 흐름을 호출하고,
+// Refresh 토큰 저장소에는 느린 Redis를 흉내 내는 지연(FaultInjectingRefreshTokenStore)을 주입
+// 실행 중 JFR로 jdk.VirtualThreadPinned 이벤트를 기록하여 고정이 발생한 위치(애플리케이션 프레임 기준)별로 집계
+// 가상 스레드 모드에서 고정이 한 번이라도 발생하면 실패 (-Djdk.tracePinnedThreads=full 로 스택도 함께 출력)
+// 실행:
+//   ./gradlew threadModelLoadTest -PthreadMode=platform
+//   ./gradlew threadModelLoadTest -PthreadMode=virtual -PjavaVersion=21
+// 추가 옵션: -PvirtualUsers=2000 -PdurationSeconds=30 -PstoreLatencyMs=50
+public class ThreadModelLoadTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.example.springjwt.";
+
+    public static void main(String[] args) throws Exception {
+
+        String mode = args.length > 0 ? args[0] : "platform";
+        int virtualUsers = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        long durationSeconds = args.length > 2 ? Long.parseLong(args[2]) : 30L;
+        long storeLatencyMs = args.length > 3 ? Long.parseLong(args[3]) : 50L;
+        int users = 1000;
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringJwtApplication.class);
+        builder = "virtual".equals(mode) ? builder.profiles("loadtest", "virtual") : builder.profiles("loadtest");
+
+        Path recordingFile = Files.createTempFile("thread-model", ".jfr");
+        Map<String, Integer> pinned;
+        try (Recording recording = new Recording()) {
+
+            // 고정 시간과 관계없이 모두 기록 (JDK 21 미만에서는 이벤트가 없으므로 기록되지 않음)
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            ConfigurableApplicationContext context = builder.run("--server.port=0", "--loadtest.users=" + users,
+                    "--loadtest.refresh-store.latency-ms=" + storeLatencyMs);
+            try {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                AuthLoadTest loadTest = new AuthLoadTest("http://localhost:" + port, users, 20, 5);
+
+                long measuredNanos = loadTest.run(virtualUsers, Duration.ofSeconds(5), Duration.ofSeconds(durationSeconds));
+                System.out.printf("mode=%s virtualUsers=%d storeLatency=%dms%n", mode, virtualUsers, storeLatencyMs);
+                loadTest.report(measuredNanos);
+            } finally {
+                context.close();
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+            pinned = pinnedSites(recordingFile);
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+
+        int total = pinned.values().stream().mapToInt(Integer::intValue).sum();
+        System.out.printf("pinned     : %d events%n", total);
+        pinned.forEach((site, count) -> System.out.printf("  %6d  %s%n", count, site));
+
+        if ("virtual".equals(mode) && total > 0) {
+            throw new IllegalStateException("virtual threads were pinned to their carrier " + total + " times");
+        }
+    }
+
+    // 고정 이벤트를 위치(가장 안쪽의 애플리케이션 프레임, 없으면 가장 안쪽 프레임)별로 집계
+    private static Map<String, Integer> pinnedSites(Path recordingFile) throws IOException {
+
+        Map<String, Integer> sites = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+
+            if (!PINNED_EVENT.equals(event.getEventType().getName())) {
+                continue;
+            }
+            sites.merge(site(event), 1, Integer::sum);
+        }
+
+        return sites;
+    }
+
+    private static String site(RecordedEvent event) {
+
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = frames.get(0);
+
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+}
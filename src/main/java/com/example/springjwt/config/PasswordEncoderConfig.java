@@ -0,0 +1,27 @@
+package com.example.springjwt.config;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.security.OffloadingPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+// 서블릿/리액티브 모드에서 함께 사용하는 PasswordEncoder
+public class PasswordEncoderConfig {
+
+    // bcrypt 해싱/검증은 전용 스레드 풀에서 실행 (threads가 0이면 CPU 코어 수)
+    // strength를 올리면 기존 사용자는 다음 로그인 성공 시 새 cost로 다시 해싱됨 (CustomUserDetailsService.updatePassword)
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${spring.password.bcrypt-strength:10}") int strength,
+                                           @Value("${spring.password.hashing.threads:0}") int threads,
+                                           @Value("${spring.password.hashing.queue-capacity:64}") int queueCapacity,
+                                           AuthMetrics authMetrics) {
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, authMetrics);
+    }
+
+}
@@ -4,9 +4,17 @@ import com.example.springjwt.jwt.CustomLogoutFilter;
 import com.example.springjwt.jwt.JWTFilter;
 import com.example.springjwt.jwt.JWTUtil;
 import com.example.springjwt.jwt.LoginFilter;
-import com.example.springjwt.repository.RefreshRepository;
-import jakarta.servlet.http.HttpServletRequest;
+import com.example.springjwt.jwt.VerifiedTokenCache;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshTokenStore;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.security.BestEffortUpgradeAuthenticationProvider;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.CustomUserDetailsService;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,17 +22,17 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutFilter;
 import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.CorsConfigurationSource;
 
-import java.util.Collections;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // 리액티브 모드에서는 ReactiveSecurityConfig 사용
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -34,41 +42,45 @@ public class SecurityConfig {
     // JWTUtil 주입
     private final JWTUtil jwtUtil;
 
-    private final RefreshRepository refreshRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    // AuthenticationManager Bean 등록
+    private final RefreshTokenStore refreshTokenStore;
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    private final AuthMetrics authMetrics;
+
+    private final AuthRateLimiter authRateLimiter;
+
+    private final RefreshSessionService refreshSessionService;
+
+    // 로그인 인증 (재해싱은 bcrypt 대기열이 가득 차면 건너뜀)
+    // 이 빈이 있으면 AuthenticationConfiguration이 만드는 AuthenticationManager가 기본 DaoAuthenticationProvider 대신 사용
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
-        return configuration.getAuthenticationManager();
+    public BestEffortUpgradeAuthenticationProvider authenticationProvider(CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+
+        BestEffortUpgradeAuthenticationProvider provider = new BestEffortUpgradeAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        return provider;
     }
 
+    // AuthenticationManager Bean 등록
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
+        return configuration.getAuthenticationManager();
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
+        // 요청마다 같은 설정 객체를 반환 (CORS 처리 과정에서 설정 객체를 변경하지 않으므로 공유 가능)
+        CorsConfiguration corsConfiguration = corsConfiguration();
         http
-                .cors((corsCustomizer -> corsCustomizer.configurationSource(new CorsConfigurationSource() {
-
-                    @Override
-                    public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
-
-                        CorsConfiguration configuration = new CorsConfiguration();
-
-                        configuration.setAllowedOrigins(Collections.singletonList("http://localhost:3000"));
-                        configuration.setAllowedMethods(Collections.singletonList("*"));
-                        configuration.setAllowCredentials(true);
-                        configuration.setAllowedHeaders(Collections.singletonList("*"));
-                        configuration.setMaxAge(3600L);
-
-                        configuration.setExposedHeaders(Collections.singletonList("Authorization"));
-
-                        return configuration;
-                    }
-                })));
+                .cors((corsCustomizer -> corsCustomizer.configurationSource(request -> corsConfiguration)));
 
         // CSRF disable
         // CSRF는 세션 기반 인증에서 위험하지만, 현재는 JWT 인증 → 브라우저가 자동으로 쿠키를 전송하지 않으므로 CSRF 방어는 고려 X
@@ -84,18 +96,19 @@ public class SecurityConfig {
         // 경로별 인가 작업
         http.authorizeHttpRequests((auth) -> auth
                 .requestMatchers("/login", "/", "/join").permitAll()
-                .requestMatchers("/admin").hasRole("ADMIN")
+                .requestMatchers("/admin", "/admin/**").hasRole("ADMIN")
                 .requestMatchers("/reissue").permitAll()
+                .requestMatchers("/.well-known/jwks.json").permitAll()
                 .anyRequest().authenticated());
 
-        http.addFilterBefore(new JWTFilter(jwtUtil), LoginFilter.class);
+        http.addFilterBefore(new JWTFilter(verifiedTokenCache, tokenGenerationService, accessTokenDenylist, authMetrics), LoginFilter.class);
 
         // UsernamePasswordAuthenticationFilter를 대체할 커스텀 필터(LoginFilter)를 등록하기 위해 addFilterAt() 사용
         // LoginFilter는 인증 처리를 위해 AuthenticationManager를 사용하며, 이 매니저는 사용자 인증을 담당하는 객체
         // AuthenticationManager는 UserDetailsService와 PasswordEncoder 등 인증에 필요한 설정을 포함하고 있으므로, 이를 생성자에 전달하여 필터가 인증을 처리할 수 있도록 설정
-        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshRepository), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshTokenStore, tokenGenerationService, authMetrics, authRateLimiter, refreshSessionService), UsernamePasswordAuthenticationFilter.class);
 
-        http.addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshRepository), LogoutFilter.class);
+        http.addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshTokenStore, accessTokenDenylist, authMetrics, refreshSessionService), LogoutFilter.class);
 
         // 세션 설정
         http.sessionManagement((session) -> session
@@ -104,4 +117,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static CorsConfiguration corsConfiguration() {
+
+        CorsConfiguration configuration = new CorsConfiguration();
+
+        configuration.setAllowedOrigins(List.of("http://localhost:3000"));
+        configuration.setAllowedMethods(List.of("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setMaxAge(3600L);
+
+        configuration.setExposedHeaders(List.of("Authorization"));
+
+        return configuration;
+    }
+
 }
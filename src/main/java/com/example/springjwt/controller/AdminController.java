@@ -1,16 +1,39 @@
 package com.example.springjwt.controller;
 
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 @Controller
 @ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // 리액티브 모드에서는 ReactiveAdminController 사용
+@RequiredArgsConstructor
 public class AdminController {
 
+    private final TokenGenerationService tokenGenerationService;
+
+    private final RefreshSessionService refreshSessionService;
+
     @GetMapping("/admin")
     public String admin_page() {
         return "admin Controller";
     }
 
+    // 사용자의 모든 세션(Access/Refresh 토큰) 무효화
+    @PostMapping("/admin/users/{username}/revoke-all")
+    public String revokeAll(@PathVariable String username) {
+
+        tokenGenerationService.revokeAll(username);
+        // 모든 세션이 무효화되었으므로 세션 목록도 비움
+        refreshSessionService.clear(username);
+
+        return "ok";
+    }
+
 }
@@ -1,13 +1,21 @@
 package com.example.springjwt.controller;
 
 import com.example.springjwt.dto.JoinDTO;
+import com.example.springjwt.security.PasswordHashingBusyException;
 import com.example.springjwt.service.JoinService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+@Slf4j
 @Controller
 @ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JoinController {
 
     private final JoinService joinService;
@@ -18,10 +26,19 @@ public class JoinController {
 
     @PostMapping("/join")
     public String joinProcess(JoinDTO joinDTO) {
-        System.out.println(joinDTO.getUsername());
+        log.debug("join request: {}", joinDTO.getUsername());
         joinService.joinProcess(joinDTO);
 
         return "ok";
     }
 
+    // 비밀번호 해싱 대기열이 가득 찬 경우 잠시 후 재시도하도록 안내
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> hashingBusy() {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS))
+                .body("server busy");
+    }
+
 }
\ No newline at end of file
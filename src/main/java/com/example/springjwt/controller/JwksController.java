@@ -0,0 +1,31 @@
+package com.example.springjwt.controller;
+
+import com.example.springjwt.jwt.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Controller
+@ResponseBody
+@RequiredArgsConstructor
+// 다른 서비스가 토큰을 직접 검증할 수 있도록 공개키 목록(JWKS)을 제공
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+
+        // 키 회전 주기보다 짧게 캐시하도록 설정 (새 kid를 만나면 리소스 서버가 다시 조회)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyRing.getJwks());
+    }
+
+}
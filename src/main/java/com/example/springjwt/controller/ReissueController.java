@@ -1,33 +1,53 @@
 package com.example.springjwt.controller;
 
-import com.example.springjwt.entity.RefreshEntity;
+import com.example.springjwt.dto.TokenPair;
 import com.example.springjwt.jwt.JWTUtil;
-import com.example.springjwt.repository.RefreshRepository;
+import com.example.springjwt.jwt.VerifiedToken;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshTokenReusedException;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.security.RateLimit;
+import com.example.springjwt.security.RateLimitedException;
+import com.example.springjwt.service.RefreshRotationService;
+import com.example.springjwt.service.TokenGenerationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.Date;
-
 @Controller
 @ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class ReissueController {
 
     private final JWTUtil jwtUtil;
 
-    private final RefreshRepository refreshRepository;
+    private final RefreshRotationService refreshRotationService;
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final AuthMetrics authMetrics;
+
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/reissue")
     public ResponseEntity<?> reissue(HttpServletRequest request, HttpServletResponse response) {
 
+        // IP별 요청 제한 확인 (토큰 파싱 전에 거부)
+        try {
+            authRateLimiter.acquire(RateLimit.REISSUE_IP, request.getRemoteAddr());
+        } catch (RateLimitedException e) {
+            return rateLimited(e);
+        }
+
         //get refresh token
         String refresh = null;
         Cookie[] cookies = request.getCookies();
@@ -41,62 +61,90 @@ public class ReissueController {
 
         if (refresh == null) {
 
+            authMetrics.outcome("reissue", "missing");
+
             //response status code
             return new ResponseEntity<>("refresh token null", HttpStatus.BAD_REQUEST);
         }
 
-        //expired check
+        //expired check (한 번만 파싱하여 검증된 클레임을 재사용)
+        VerifiedToken token;
         try {
-            jwtUtil.isExpired(refresh);
+            token = jwtUtil.verify(refresh);
         } catch (ExpiredJwtException e) {
 
+            authMetrics.outcome("reissue", "expired");
+
             //response status code
             return new ResponseEntity<>("refresh token expired", HttpStatus.BAD_REQUEST);
         }
 
         // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(refresh);
+        if (!token.isCategory("refresh")) {
 
-        if (!category.equals("refresh")) {
+            authMetrics.outcome("reissue", "wrong_category");
 
             //response status code
             return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
-        //Redis에 저장되어 있는지 확인
-        Boolean isExist = refreshRepository.existsById(refresh);
-        if (!isExist) {
+        String username = token.getUsername();
+        String role = token.getRole();
+
+        // username별 요청 제한 확인 (저장소 조회, 토큰 생성 전에 거부)
+        try {
+            authRateLimiter.acquire(RateLimit.REISSUE_USERNAME, username);
+        } catch (RateLimitedException e) {
+            return rateLimited(e);
+        }
+
+        // 세대 번호 확인 (모든 기기에서 로그아웃된 이후의 이전 세대 토큰이면 거부)
+        long generation = tokenGenerationService.current(username);
+        if (token.getGeneration() < generation) {
+
+            authMetrics.outcome("reissue", "stale_generation");
 
             //response body
             return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
-        String username = jwtUtil.getUsername(refresh);
-        String role = jwtUtil.getRole(refresh);
+        //Access/Refresh 토큰 재생성 및 회전 (동시에 들어온 같은 토큰의 재발급 요청은 같은 토큰 쌍을 받음)
+        //저장되어 있지 않거나 유예 시간이 지난 재사용이면 실패
+        TokenPair pair;
+        try {
+            pair = refreshRotationService.rotate(refresh, username, role, generation);
+        } catch (RefreshTokenReusedException e) {
 
-        // AccessToken과 RefreshToken 재생성 (생명 주기: Access - 10분, Refresh - 24시간)
-        String newAccess = jwtUtil.createJwt("access", username, role, 600000L);
-        String newRefresh = jwtUtil.createJwt("refresh", username, role, 86400000L);
+            // 이미 회전된 토큰을 유예 시간이 지난 뒤 다시 사용 (탈취된 토큰일 수 있음)
+            authMetrics.outcome("reissue", "reuse");
 
-        //Refresh 토큰을 저장하는 Redis에서 기존의 Refresh 토큰 삭제 후 새 Refresh 토큰 저장
-        refreshRepository.deleteById(refresh);
-        addRefreshEntity(username, newRefresh);
+            //response body
+            return new ResponseEntity<>("refresh token reused", HttpStatus.BAD_REQUEST);
+        }
+        if (pair == null) {
+
+            authMetrics.outcome("reissue", "not_found");
+
+            //response body
+            return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
+        }
 
         // AccessToken은 응답 헤더에 담아서 클라이언트에게 전달
-        response.addHeader("Authorization", "Bearer " + newAccess);
+        response.addHeader("Authorization", "Bearer " + pair.getAccess());
         // RefreshToken은 쿠키에 저장
-        response.addCookie(createCookie("refresh", newRefresh));
+        response.addCookie(createCookie("refresh", pair.getRefresh()));
+        authMetrics.outcome("reissue", "ok");
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    private void addRefreshEntity(String username, String refresh) {
+    private ResponseEntity<?> rateLimited(RateLimitedException e) {
 
-        RefreshEntity refreshEntity = new RefreshEntity();
-        refreshEntity.setUsername(username);
-        refreshEntity.setRefresh(refresh);
+        authMetrics.outcome("reissue", "rate_limited");
 
-        refreshRepository.save(refreshEntity);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body("too many requests");
     }
 
     private Cookie createCookie(String key, String value) {
@@ -0,0 +1,81 @@
+package com.example.springjwt.controller;
+
+import com.example.springjwt.dto.JwtPrincipal;
+import com.example.springjwt.dto.SessionRevokeResult;
+import com.example.springjwt.service.RefreshSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+@ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // 리액티브 모드에서는 ReactiveSessionController 사용
+@RequiredArgsConstructor
+// 로그인 세션(기기) 목록 조회 / 폐기
+// /sessions/** 는 본인 세션 (Access 토큰의 username), /admin/users/{username}/sessions/** 는 관리자용 (ADMIN 권한 필요)
+// 목록은 발급 시각 역순, 다음 페이지는 응답의 next 값을 cursor로 전달
+// 폐기 요청 본문은 세션 ID 배열 (예: ["3f2a...", "9b1c..."])
+public class SessionController {
+
+    private final RefreshSessionService refreshSessionService;
+
+    @GetMapping("/sessions")
+    public ResponseEntity<?> mySessions(@AuthenticationPrincipal JwtPrincipal principal,
+                                        @CookieValue(name = "refresh", required = false) String refresh,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return list(principal.getUsername(), refresh, cursor, size);
+    }
+
+    @PostMapping("/sessions/revoke")
+    public SessionRevokeResult revokeMine(@AuthenticationPrincipal JwtPrincipal principal, @RequestBody List<String> ids) {
+        return new SessionRevokeResult(refreshSessionService.revoke(principal.getUsername(), ids));
+    }
+
+    // 요청에 사용된 Refresh 토큰(쿠키)의 세션만 남기고 모두 폐기
+    // 쿠키가 없으면 남길 세션을 알 수 없으므로 (현재 세션까지 폐기되지 않도록) 400
+    @PostMapping("/sessions/revoke-others")
+    public ResponseEntity<?> revokeOthers(@AuthenticationPrincipal JwtPrincipal principal,
+                                          @CookieValue(name = "refresh", required = false) String refresh) {
+
+        if (refresh == null) {
+            return new ResponseEntity<>("refresh token null", HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok(new SessionRevokeResult(refreshSessionService.revokeOthers(principal.getUsername(), refresh)));
+    }
+
+    @GetMapping("/admin/users/{username}/sessions")
+    public ResponseEntity<?> userSessions(@PathVariable String username,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return list(username, null, cursor, size);
+    }
+
+    @PostMapping("/admin/users/{username}/sessions/revoke")
+    public SessionRevokeResult revokeUserSessions(@PathVariable String username, @RequestBody List<String> ids) {
+        return new SessionRevokeResult(refreshSessionService.revoke(username, ids));
+    }
+
+    private ResponseEntity<?> list(String username, String refresh, String cursor, int size) {
+
+        try {
+            return ResponseEntity.ok(refreshSessionService.list(username, refresh, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.springjwt.controller;
+
+import com.example.springjwt.dto.UserImportResult;
+import com.example.springjwt.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    // 요청 본문(CSV)을 스트림으로 읽으면서 저장 (/admin/** 경로이므로 ADMIN 권한 필요)
+    // 예: curl -X POST -H "Content-Type: text/csv" --data-binary @users.csv /admin/users/import
+    @PostMapping(value = "/admin/users/import", consumes = "text/csv")
+    public UserImportResult importUsers(InputStream body) throws IOException {
+        return userImportService.importCsv(body);
+    }
+
+}
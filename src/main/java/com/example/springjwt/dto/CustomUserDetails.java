@@ -1,31 +1,29 @@
 package com.example.springjwt.dto;
 
 import com.example.springjwt.entity.UserEntity;
-import lombok.RequiredArgsConstructor;
+import com.example.springjwt.security.RoleAuthorities;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
-@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails {
 
     private final UserEntity userEntity;
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
+    // 권한 목록은 역할별로 공유하는 불변 리스트
+    private final List<GrantedAuthority> authorities;
 
-        Collection<GrantedAuthority> collection = new ArrayList<>();
+    public CustomUserDetails(UserEntity userEntity) {
 
-        collection.add(new GrantedAuthority() {
-            @Override
-            public String getAuthority() {
-                return userEntity.getRole();
-            }
-        });
+        this.userEntity = userEntity;
+        this.authorities = RoleAuthorities.of(userEntity.getRole());
+    }
 
-        return collection;
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
     }
 
     @Override
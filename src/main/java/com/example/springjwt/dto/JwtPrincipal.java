@@ -0,0 +1,31 @@
+package com.example.springjwt.dto;
+
+import com.example.springjwt.security.RoleAuthorities;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+// 검증된 Access 토큰의 클레임으로 만드는 인증 사용자 정보 (불변)
+// 요청마다 UserEntity/CustomUserDetails를 만들지 않고, 권한 목록은 역할별로 공유
+// 컨트롤러에서는 @AuthenticationPrincipal JwtPrincipal principal 로 username, role 조회
+public class JwtPrincipal implements Principal {
+
+    private final String username;
+
+    private final String role;
+
+    public List<GrantedAuthority> getAuthorities() {
+        return RoleAuthorities.of(role);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 로그인 세션 (기기별 Refresh 토큰 하나)
+// id는 현재 Refresh 토큰의 지문이므로 재발급하면 바뀜 (loginAt, ip, device는 로그인할 때 기록한 값 유지)
+public class RefreshSession {
+
+    private final String id;
+
+    private final long issuedAt;    // 현재 Refresh 토큰 발급 시각 (ms, 로그인 또는 마지막 재발급)
+
+    private final long loginAt;     // 로그인 시각 (ms)
+
+    private final String ip;
+
+    private final String device;    // User-Agent
+
+    private final boolean current;  // 요청에 사용된 Refresh 토큰의 세션
+
+    public RefreshSession asCurrent() {
+        return new RefreshSession(id, issuedAt, loginAt, ip, device, true);
+    }
+
+}
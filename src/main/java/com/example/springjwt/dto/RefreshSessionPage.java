@@ -0,0 +1,17 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+// 세션 목록 한 페이지 (발급 시각 역순)
+public class RefreshSessionPage {
+
+    private final List<RefreshSession> sessions;
+
+    private final String next;  // 다음 페이지 커서 (마지막 페이지면 null)
+
+}
@@ -0,0 +1,13 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 세션 일괄 폐기 결과
+public class SessionRevokeResult {
+
+    private final long revoked;  // 삭제된 Refresh 토큰 수 (이미 만료/로그아웃된 세션은 제외)
+
+}
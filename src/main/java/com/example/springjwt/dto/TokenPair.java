@@ -0,0 +1,15 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 재발급된 Access/Refresh 토큰 쌍
+public class TokenPair {
+
+    private final String access;
+
+    private final String refresh;
+
+}
@@ -0,0 +1,18 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 인증에 필요한 컬럼만 담은 조회 결과 (UserRepository.findCredentialsByUsername)
+// 엔티티가 아니므로 영속성 컨텍스트에 등록되지 않고 스냅샷/변경 감지 비용이 없음
+public class UserCredentials {
+
+    private final String username;
+
+    private final String password;
+
+    private final String role;
+
+}
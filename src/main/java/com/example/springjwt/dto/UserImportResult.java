@@ -0,0 +1,17 @@
+package com.example.springjwt.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 대량 가입 결과
+public class UserImportResult {
+
+    private final long imported;    // 저장된 사용자 수
+
+    private final long duplicates;  // 이미 가입된 username (유니크 인덱스 위반)
+
+    private final long invalid;     // 형식이 잘못된 레코드
+
+}
@@ -4,16 +4,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+// username 중복은 조회 후 저장이 아닌 DB 유니크 인덱스로 막음 (동시 가입 요청에서도 중복 저장 불가)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_username", columnNames = "username"))
 @Setter
 @Getter
 public class UserEntity {
 
+    // IDENTITY는 INSERT 실행 후에야 id를 알 수 있어 Hibernate가 JDBC 배치를 사용하지 않음
+    // 시퀀스(MySQL에서는 user_seq 테이블로 대체)에서 allocationSize만큼 id를 미리 받아 INSERT를 배치로 전송
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 100)
     private int id;
 
     private String username;
@@ -22,4 +30,4 @@ public class UserEntity {
 
     private String role;
 
-}
\ No newline at end of file
+}
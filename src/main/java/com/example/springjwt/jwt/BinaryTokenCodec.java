@@ -0,0 +1,204 @@
+package com.example.springjwt.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+// 바이너리 토큰 (spring.jwt.format=binary)
+// 형식: "b1." + base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+// payload: 버전(1) 카테고리 코드(1) 역할 코드(1) [코드가 0이면 길이(varint) + UTF-8 문자열]
+//          세대 번호(varint) 발급 시각(4, 초) 만료 시각(4, 초) jti(16) username 길이(varint) + UTF-8
+// 헤더/클레임 JSON 없이 정해진 순서로 읽으므로 JWT보다 짧고 파싱 비용이 적음
+// HS256 비밀 키로만 서명하므로 JWKS로 검증하는 외부 서비스에는 사용할 수 없음 (내부 서비스 전용)
+// 비대칭 서명 키(JwtKeyRing)를 사용하는 동안에는 발급/검증하지 않음 (JWTUtil)
+final class BinaryTokenCodec {
+
+    static final String PREFIX = "b1.";
+
+    private static final byte VERSION = 1;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // 초기화된 Mac (Mac은 스레드 안전하지 않으므로 사용할 때마다 복제)
+    private final Mac prototype;
+
+    BinaryTokenCodec(SecretKey secretKey) {
+
+        try {
+            prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(secretKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean isBinary(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    String encode(String category, String username, String role, long generation, long issuedAtMs, long expirationMs) {
+
+        UUID id = UUID.randomUUID();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+
+        payload.write(VERSION);
+        writeCode(payload, CompactClaims.categoryCode(category), category);
+        writeCode(payload, CompactClaims.roleCode(role), role);
+        writeVarLong(payload, generation);
+        writeInt(payload, (int) (issuedAtMs / 1000));
+        writeInt(payload, (int) (expirationMs / 1000));
+        writeLong(payload, id.getMostSignificantBits());
+        writeLong(payload, id.getLeastSignificantBits());
+        writeString(payload, username);
+
+        byte[] bytes = payload.toByteArray();
+        return PREFIX + ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(mac(bytes));
+    }
+
+    // 서명이 다르면 SignatureException, 만료되었으면 ExpiredJwtException, 형식이 잘못되었으면 MalformedJwtException
+    VerifiedToken decode(String token) {
+
+        int separator = token.indexOf('.', PREFIX.length());
+        if (separator < 0) {
+            throw new MalformedJwtException("invalid binary token");
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(PREFIX.length(), separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("invalid binary token", e);
+        }
+
+        // 비교 시간이 일치하는 바이트 수에 따라 달라지지 않도록 MessageDigest.isEqual 사용
+        if (!MessageDigest.isEqual(mac(payload), signature)) {
+            throw new SignatureException("binary token signature does not match");
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            if (buffer.get() != VERSION) {
+                throw new MalformedJwtException("unsupported binary token version");
+            }
+
+            String category = readCode(buffer, true);
+            String role = readCode(buffer, false);
+            long generation = readVarLong(buffer);
+            long issuedAtMs = Integer.toUnsignedLong(buffer.getInt()) * 1000;
+            long expirationMs = Integer.toUnsignedLong(buffer.getInt()) * 1000;
+            String id = new UUID(buffer.getLong(), buffer.getLong()).toString();
+            String username = readString(buffer);
+
+            if (expirationMs <= System.currentTimeMillis()) {
+                throw new ExpiredJwtException(null, null, "binary token expired");
+            }
+
+            return new VerifiedToken(id, category, username, role, issuedAtMs, expirationMs, generation, true);
+        } catch (BufferUnderflowException e) {
+            throw new MalformedJwtException("truncated binary token", e);
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeCode(ByteArrayOutputStream out, int code, String value) {
+
+        out.write(code);
+        if (code == 0) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readCode(ByteBuffer buffer, boolean category) {
+
+        int code = buffer.get() & 0xFF;
+        if (code == 0) {
+            return readString(buffer);
+        }
+
+        String value = category ? CompactClaims.category(code) : CompactClaims.role(code);
+        if (value == null) {
+            throw new MalformedJwtException("unknown claim code: " + code);
+        }
+        return value;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+
+        int length = (int) readVarLong(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new MalformedJwtException("invalid string length");
+        }
+
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // 7비트씩 나누어 저장 (작은 값은 1바이트)
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MalformedJwtException("invalid varint");
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.example.springjwt.jwt;
+
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.util.List;
+
+// 압축 형식(COMPACT, BINARY)의 클레임 이름과 카테고리/역할 코드
+// 코드는 목록 위치 + 1 (0은 목록에 없는 값이며 문자열 그대로 저장), 이미 발급된 토큰을 읽을 수 있도록 항목은 뒤에만 추가
+final class CompactClaims {
+
+    static final String CATEGORY = "t";
+    static final String ROLE = "r";
+    static final String GENERATION = "g";
+
+    private static final List<String> CATEGORIES = List.of("access", "refresh");
+
+    private static final List<String> ROLES = List.of("ROLE_ADMIN", "ROLE_USER");
+
+    private CompactClaims() {
+    }
+
+    static int categoryCode(String category) {
+        return CATEGORIES.indexOf(category) + 1;
+    }
+
+    static int roleCode(String role) {
+        return ROLES.indexOf(role) + 1;
+    }
+
+    // 코드가 범위를 벗어나면 null
+    static String category(int code) {
+        return code > 0 && code <= CATEGORIES.size() ? CATEGORIES.get(code - 1) : null;
+    }
+
+    static String role(int code) {
+        return code > 0 && code <= ROLES.size() ? ROLES.get(code - 1) : null;
+    }
+
+    // JWT 클레임 값 (코드가 있으면 숫자, 없으면 문자열)
+    static Object encodeCategory(String category) {
+        int code = categoryCode(category);
+        return code > 0 ? code : category;
+    }
+
+    static Object encodeRole(String role) {
+        int code = roleCode(role);
+        return code > 0 ? code : role;
+    }
+
+    // 알 수 없는 코드이거나 숫자/문자열이 아니면 MalformedJwtException (BinaryTokenCodec.readCode와 동일)
+    static String decodeCategory(Object value) {
+        return decode(value, value instanceof Number number ? category(number.intValue()) : null);
+    }
+
+    static String decodeRole(Object value) {
+        return decode(value, value instanceof Number number ? role(number.intValue()) : null);
+    }
+
+    private static String decode(Object value, String decoded) {
+
+        if (value instanceof String string) {
+            return string;
+        }
+        if (decoded == null) {
+            throw new MalformedJwtException("unknown claim code: " + value);
+        }
+        return decoded;
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.example.springjwt.jwt;
 
-import com.example.springjwt.repository.RefreshRepository;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshTokenStore;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.RefreshSessionService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -18,7 +22,10 @@ import java.io.IOException;
 public class CustomLogoutFilter extends GenericFilterBean {
 
     private final JWTUtil jwtUtil;
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final RefreshSessionService refreshSessionService;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
@@ -28,15 +35,13 @@ public class CustomLogoutFilter extends GenericFilterBean {
 
     private void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
 
-        //path and method verify
-        String requestUri = request.getRequestURI();
-        if (!requestUri.matches("^\\/logout$")) {
+        //path and method verify (정규식 대신 문자열 비교, 요청마다 Pattern을 컴파일하지 않음)
+        if (!"/logout".equals(request.getRequestURI())) {
 
             filterChain.doFilter(request, response);
             return;
         }
-        String requestMethod = request.getMethod();
-        if (!requestMethod.equals("POST")) {
+        if (!"POST".equals(request.getMethod())) {
 
             filterChain.doFilter(request, response);
             return;
@@ -56,41 +61,50 @@ public class CustomLogoutFilter extends GenericFilterBean {
         //refresh null check
         if (refresh == null) {
 
+            authMetrics.outcome("logout", "missing");
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        //expired check
+        //expired check (한 번만 파싱하여 검증된 클레임을 재사용)
+        VerifiedToken token;
         try {
-            jwtUtil.isExpired(refresh);
+            token = jwtUtil.verify(refresh);
         } catch (ExpiredJwtException e) {
 
+            authMetrics.outcome("logout", "expired");
+
             //response status code
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
         // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(refresh);
-        if (!category.equals("refresh")) {
+        if (!token.isCategory("refresh")) {
+
+            authMetrics.outcome("logout", "wrong_category");
 
             //response status code
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        //Redis에 저장되어 있는지 확인
-        Boolean isExist = refreshRepository.existsById(refresh);
-        if (!isExist) {
+        //로그아웃 진행
+        //Refresh 토큰 Redis에서 제거 (저장되어 있지 않았다면 실패)
+        if (!refreshTokenStore.delete(refresh, token.getUsername())) {
+
+            authMetrics.outcome("logout", "not_found");
 
             //response status code
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        //로그아웃 진행
-        //Refresh 토큰 Redis에서 제거
-        refreshRepository.deleteById(refresh);
+        //세션 목록에서 제거
+        refreshSessionService.closed(refresh, token.getUsername());
+
+        //Access 토큰도 만료 전까지 사용할 수 없도록 폐기 목록에 등록 (Redis 장애로 전파하지 못해도 로그아웃은 정상 응답)
+        revokeAccessToken(request, token.getUsername());
 
         //Refresh 토큰 Cookie 값 0
         Cookie cookie = new Cookie("refresh", null);
@@ -99,6 +113,24 @@ public class CustomLogoutFilter extends GenericFilterBean {
 
         response.addCookie(cookie);
         response.setStatus(HttpServletResponse.SC_OK);
+        authMetrics.outcome("logout", "ok");
+    }
+
+    private void revokeAccessToken(HttpServletRequest request, String username) {
+
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return;
+        }
+
+        try {
+            VerifiedToken access = jwtUtil.verify(authorization.substring("Bearer ".length()));
+            if (access.isCategory("access") && username.equals(access.getUsername())) {
+                accessTokenDenylist.revoke(access.getId(), access.getExpiration());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            //만료되었거나 유효하지 않은 Access 토큰은 폐기할 필요 없음
+        }
     }
 
 }
\ No newline at end of file
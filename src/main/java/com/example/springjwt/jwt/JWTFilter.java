@@ -1,14 +1,16 @@
 package com.example.springjwt.jwt;
 
-import com.example.springjwt.dto.CustomUserDetails;
-import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.dto.JwtPrincipal;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.TokenGenerationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -16,10 +18,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+@Slf4j
 @RequiredArgsConstructor
 public class JWTFilter extends OncePerRequestFilter {
 
-    private final JWTUtil jwtUtil;
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // 검증 결과 캐시 (비활성화 시 내부에서 JWTUtil로 직접 검증)
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // 사용자별 토큰 세대 번호 (모든 기기 로그아웃 확인용)
+    private final TokenGenerationService tokenGenerationService;
+
+    // 로그아웃으로 폐기된 Access 토큰 목록
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    // 검증 결과 집계
+    private final AuthMetrics authMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -28,24 +43,29 @@ public class JWTFilter extends OncePerRequestFilter {
         String AccessToken = request.getHeader("Authorization");
 
         //Authorization 헤더 검증
-        if (AccessToken == null || !AccessToken.startsWith("Bearer ")) {
+        if (AccessToken == null || !AccessToken.startsWith(BEARER_PREFIX)) {
 
-            System.out.println("token null");
+            // 표준 출력은 요청마다 동기화되므로 로그 레벨로 제어 (기본 설정에서는 출력되지 않음)
+            log.trace("token null");
+            authMetrics.outcome("access", "missing");
             filterChain.doFilter(request, response); // 실습 간소화를 위해 토큰이 없을 경우에도 요청을 계속 진행하도록 설정함, 실제 서비스에서는 401 Unauthorized 응답을 주는 것이 바람직
 
             //조건이 해당되면 메소드 종료 (필수)
             return;
         }
 
-        System.out.println("authorization now");
-        //Bearer 부분 제거 후 순수 토큰만 획득
-        String accessToken = AccessToken.split(" ")[1];
+        log.trace("authorization now");
+        //Bearer 부분 제거 후 순수 토큰만 획득 (split은 정규식 검사와 배열 할당이 필요하므로 접두사 길이만큼 잘라냄)
+        String accessToken = AccessToken.substring(BEARER_PREFIX.length());
 
-        // 토큰 만료 여부 확인, 만료시 다음 필터로 넘기지 않음
+        // 토큰을 한 번만 파싱하여 서명/만료 검증, 만료시 다음 필터로 넘기지 않음
+        VerifiedToken token;
         try {
-            jwtUtil.isExpired(accessToken);
+            token = verifiedTokenCache.verify(accessToken);
         } catch (ExpiredJwtException e) {
 
+            authMetrics.outcome("access", "expired");
+
             //response body
             PrintWriter writer = response.getWriter();
             writer.print("access token expired");
@@ -56,9 +76,9 @@ public class JWTFilter extends OncePerRequestFilter {
         }
 
         // 토큰이 access인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(accessToken);
+        if (!token.isCategory("access")) {
 
-        if (!category.equals("access")) {
+            authMetrics.outcome("access", "wrong_category");
 
             //response body
             PrintWriter writer = response.getWriter();
@@ -69,23 +89,43 @@ public class JWTFilter extends OncePerRequestFilter {
             return;
         }
 
-        //토큰에서 username과 role 획득
-        String username = jwtUtil.getUsername(accessToken);
-        String role = jwtUtil.getRole(accessToken);
+        // 폐기 여부 확인 (로그아웃된 Access 토큰이면 다음 필터로 넘기지 않음)
+        if (accessTokenDenylist.isRevoked(token.getId())) {
+
+            authMetrics.outcome("access", "revoked");
 
-        //userEntity를 생성하여 값 set
-        UserEntity userEntity = new UserEntity();
-        userEntity.setUsername(username);
-        userEntity.setPassword("temppassword");
-        userEntity.setRole(role);
+            //response body
+            PrintWriter writer = response.getWriter();
+            writer.print("revoked access token");
 
-        //UserDetails에 회원 정보 객체 담기
-        CustomUserDetails customUserDetails = new CustomUserDetails(userEntity);
+            //response status code
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        //검증된 토큰에서 username과 role 획득
+        String username = token.getUsername();
+        String role = token.getRole();
+
+        // 세대 번호 확인, 이전 세대 토큰이면 (모든 기기에서 로그아웃된 경우) 다음 필터로 넘기지 않음
+        if (!tokenGenerationService.isCurrent(username, token.getGeneration())) {
+
+            authMetrics.outcome("access", "stale_generation");
+
+            //response body
+            PrintWriter writer = response.getWriter();
+            writer.print("revoked access token");
+
+            //response status code
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
 
-        //스프링 시큐리티 인증 토큰 생성
-        Authentication authToken = new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
+        //검증된 클레임으로 인증 정보 생성 (UserEntity를 만들지 않고, 권한 목록은 역할별로 공유)
+        Authentication authToken = new JwtAuthentication(new JwtPrincipal(username, role));
         //세션에 사용자 등록
         SecurityContextHolder.getContext().setAuthentication(authToken);
+        authMetrics.outcome("access", "ok");
 
         filterChain.doFilter(request, response);
     }
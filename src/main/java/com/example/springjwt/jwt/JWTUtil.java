@@ -1,13 +1,29 @@
 package com.example.springjwt.jwt;
 
+import com.example.springjwt.metrics.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
 import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
 
 @Component
 // JWT 0.12.3 버전
@@ -16,42 +32,247 @@ public class JWTUtil {
 
     private SecretKey secretKey;
 
+    // 비대칭 서명 키 묶음 (비활성화 시 HS256 비밀 키로만 서명/검증)
+    private final JwtKeyRing keyRing;
+
+    // 미리 만들어 둔 파서 (JwtParser는 불변 객체이므로 여러 스레드에서 공유 가능)
+    private final JwtParser jwtParser;
+
+    // 검증/생성 시간 측정
+    private final AuthMetrics authMetrics;
+
+    // 발급 형식 (JWT 형식은 모두 검증, 바이너리 형식은 acceptBinary일 때만 검증)
+    private final TokenFormat tokenFormat;
+
+    private final BinaryTokenCodec binaryTokenCodec;
+
+    // 바이너리 토큰(b1.) 허용 여부 (발급 형식이 binary이면 항상 허용)
+    private final boolean acceptBinary;
+
     // 생성자: 비밀 키(secret)를 사용하여 SecretKey 객체를 생성
-    public JWTUtil(@Value("${spring.jwt.secret}") String secret) {
+    @Autowired
+    public JWTUtil(@Value("${spring.jwt.secret}") String secret, JwtKeyRing keyRing, AuthMetrics authMetrics,
+                   @Value("${spring.jwt.format:standard}") String tokenFormat,
+                   @Value("${spring.jwt.format.accept-binary:false}") boolean acceptBinary) {
         secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        this.keyRing = keyRing;
+        this.authMetrics = authMetrics;
+        this.tokenFormat = TokenFormat.valueOf(tokenFormat.trim().toUpperCase(Locale.ROOT));
+        this.acceptBinary = acceptBinary || this.tokenFormat == TokenFormat.BINARY;
+        binaryTokenCodec = new BinaryTokenCodec(secretKey);
+        jwtParser = Jwts.parser().keyLocator(new KidKeyLocator()).build();
+    }
+
+    // 지정한 형식으로 발급 (바이너리 토큰은 발급 형식이 binary일 때만 허용)
+    public JWTUtil(String secret, JwtKeyRing keyRing, AuthMetrics authMetrics, String tokenFormat) {
+        this(secret, keyRing, authMetrics, tokenFormat, false);
+    }
+
+    // 기존 JWT 형식으로 발급
+    public JWTUtil(String secret, JwtKeyRing keyRing, AuthMetrics authMetrics) {
+        this(secret, keyRing, authMetrics, TokenFormat.STANDARD.name());
+    }
+
+    // 토큰을 한 번만 파싱/서명 검증하여 필요한 클레임을 모두 담아 반환하는 메소드
+    // 만료된 토큰이면 ExpiredJwtException, 서명이 잘못된 토큰이면 JwtException 발생
+    public VerifiedToken verify(String token) {
+
+        long start = System.nanoTime();
+        VerifiedToken verified;
+        try {
+            verified = BinaryTokenCodec.isBinary(token) ? decodeBinary(token) : parse(token);
+        } catch (ExpiredJwtException e) {
+            authMetrics.recordVerify(AuthMetrics.VERIFY_EXPIRED, System.nanoTime() - start);
+            throw e;
+        } catch (SignatureException e) {
+            authMetrics.recordVerify(AuthMetrics.VERIFY_BAD_SIGNATURE, System.nanoTime() - start);
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            authMetrics.recordVerify(AuthMetrics.VERIFY_INVALID, System.nanoTime() - start);
+            throw e;
+        }
+        authMetrics.recordVerify(AuthMetrics.VERIFY_OK, System.nanoTime() - start);
+
+        return verified;
+    }
+
+    // 바이너리 토큰은 HS256 비밀 키로만 서명되므로 비대칭 서명 키가 있으면 거부 (비밀 키를 아는 쪽이 kid 검사를 우회하지 못하도록)
+    private VerifiedToken decodeBinary(String token) {
+
+        if (!acceptBinary || keyRing.getSigningKey() != null) {
+            throw new UnsupportedJwtException("binary token is not accepted");
+        }
+
+        return binaryTokenCodec.decode(token);
+    }
+
+    private VerifiedToken parse(String token) {
+
+        Jws<Claims> jws = jwtParser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+        boolean secretKeySigned = jws.getHeader().getKeyId() == null;
+
+        // 압축 형식 JWT (짧은 클레임 이름 + 코드값)
+        if (claims.containsKey(CompactClaims.CATEGORY)) {
+
+            Number generation = claims.get(CompactClaims.GENERATION, Number.class);
+
+            return new VerifiedToken(
+                    claims.getId(),
+                    CompactClaims.decodeCategory(claims.get(CompactClaims.CATEGORY)),
+                    claims.getSubject(),
+                    CompactClaims.decodeRole(claims.get(CompactClaims.ROLE)),
+                    epochMillis(claims.getIssuedAt()),
+                    epochMillis(claims.getExpiration()),
+                    generation == null ? 0L : generation.longValue(),
+                    secretKeySigned);
+        }
+
+        // gen 클레임이 없는 토큰(세대 번호 도입 이전 발급)은 0세대로 취급
+        Number generation = claims.get("gen", Number.class);
+
+        return new VerifiedToken(
+                claims.getId(),
+                claims.get("category", String.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                epochMillis(claims.getIssuedAt()),
+                epochMillis(claims.getExpiration()),
+                generation == null ? 0L : generation.longValue(),
+                secretKeySigned);
+    }
+
+    // 클레임이 없으면 0 (exp가 없는 토큰은 만료된 것으로 취급)
+    private static long epochMillis(Date date) {
+        return date == null ? 0L : date.getTime();
+    }
+
+    // 이전에 검증한 결과를 지금도 그대로 사용할 수 있는지 확인 (VerifiedTokenCache 적중 시 사용)
+    // HS256 비밀 키로 서명된 토큰은 비대칭 서명 전환 후 거부되므로 현재 키 묶음 상태로 다시 판단
+    public boolean isStillAccepted(String token, VerifiedToken verified) {
+
+        if (!verified.isSecretKeySigned()) {
+            return true;
+        }
+        if (BinaryTokenCodec.isBinary(token)) {
+            return acceptBinary && keyRing.getSigningKey() == null;
+        }
+
+        return keyRing.acceptsLegacyTokens(System.currentTimeMillis());
     }
 
     // 토큰에서 username을 추출하는 메소드
     public String getUsername(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("username", String.class);
+        return verify(token).getUsername();
     }
 
     // 토큰에서 역할(role)을 추출하는 메소드
     public String getRole(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+        return verify(token).getRole();
     }
 
     // 토큰에서 카테고리(category)를 추출하는 메소드 (access/refresh 판단을 위한 카테고리)
     public String getCategory(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("category", String.class);
+        return verify(token).getCategory();
     }
 
     // 토큰의 만료 여부를 체크하는 메소드
     public Boolean isExpired(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getExpiration().before(new Date());
+        return verify(token).getExpiration() < System.currentTimeMillis();
     }
 
-    // 사용자 이름, 역할 및 만료 시간을 기준으로 JWT를 생성하는 메소드
+    // 사용자 이름, 역할 및 만료 시간을 기준으로 JWT를 생성하는 메소드 (0세대)
     public String createJwt(String category, String username, String role, Long expiredMs) {
-        return Jwts.builder()
+        return createJwt(category, username, role, 0L, expiredMs);
+    }
+
+    // 사용자 이름, 역할, 토큰 세대 번호 및 만료 시간을 기준으로 JWT를 생성하는 메소드
+    public String createJwt(String category, String username, String role, long generation, Long expiredMs) {
+        long start = System.nanoTime();
+        String token = switch (tokenFormat) {
+            case STANDARD -> createStandard(category, username, role, generation, expiredMs);
+            case COMPACT -> createCompact(category, username, role, generation, expiredMs);
+            // 비대칭 서명 키가 있으면 바이너리 토큰은 검증되지 않으므로 압축 JWT로 발급
+            case BINARY -> {
+                if (keyRing.getSigningKey() != null) {
+                    yield createCompact(category, username, role, generation, expiredMs);
+                }
+                long now = System.currentTimeMillis();
+                yield binaryTokenCodec.encode(category, username, role, generation, now, now + expiredMs);
+            }
+        };
+        authMetrics.recordCreate(category, System.nanoTime() - start);
+
+        return token;
+    }
+
+    private String createStandard(String category, String username, String role, long generation, long expiredMs) {
+        JwtBuilder builder = Jwts.builder()
+                // 토큰 ID (로그아웃 시 Access 토큰 폐기 목록에 등록하기 위함)
+                .id(UUID.randomUUID().toString())
                 // claim() = JWT의 페이로드에 데이터를 추가하는 메서드
                 .claim("category", category)
                 .claim("username", username)
                 .claim("role", role)
+                .claim("gen", generation)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 // JWT의 만료 시간을 설정
-                .expiration(new Date(System.currentTimeMillis() + expiredMs))
-                .signWith(secretKey) // 서명
+                .expiration(new Date(System.currentTimeMillis() + expiredMs));
+
+        return sign(builder);
+    }
+
+    // 클레임 이름을 한 글자로 줄이고 카테고리/역할은 코드값으로 저장 (username은 표준 sub 클레임)
+    private String createCompact(String category, String username, String role, long generation, long expiredMs) {
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(CompactClaims.CATEGORY, CompactClaims.encodeCategory(category))
+                .claim(CompactClaims.ROLE, CompactClaims.encodeRole(role))
+                .claim(CompactClaims.GENERATION, generation)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiredMs));
+
+        return sign(builder);
+    }
+
+    // 키 묶음에 서명 키가 있으면 kid 헤더와 함께 비대칭 서명, 없으면 HS256 비밀 키로 서명
+    private String sign(JwtBuilder builder) {
+
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        if (signingKey == null) {
+            return builder.signWith(secretKey).compact();
+        }
+
+        return builder
+                .header().keyId(signingKey.getKid()).and()
+                .signWith(signingKey.getPrivateKey()) // 키 종류에 따라 ES256/EdDSA 자동 선택
                 .compact();
     }
-}
\ No newline at end of file
+
+    // 헤더의 kid로 검증 키를 찾는 Locator
+    // kid가 없는 토큰은 기존 HS256 방식으로 발급된 토큰으로 보고 비밀 키로 검증 (비대칭 서명 전환 후 허용 기간이 지나면 거부)
+    private class KidKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (!keyRing.acceptsLegacyTokens(System.currentTimeMillis())) {
+                    throw new JwtException("token without kid is no longer accepted");
+                }
+                return secretKey;
+            }
+
+            PublicKey publicKey = keyRing.findVerificationKey(kid);
+            if (publicKey == null) {
+                throw new JwtException("unknown kid: " + kid);
+            }
+
+            return publicKey;
+        }
+
+    }
+}
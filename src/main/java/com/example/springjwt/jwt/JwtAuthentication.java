@@ -0,0 +1,53 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.dto.JwtPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+// Access 토큰으로 인증된 요청의 Authentication
+// UsernamePasswordAuthenticationToken은 생성할 때마다 권한 목록을 복사하므로, 공유 권한 목록을 그대로 반환하는 전용 구현 사용
+public class JwtAuthentication implements Authentication {
+
+    private final JwtPrincipal principal;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public JwtPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    // 서명 검증이 끝난 토큰으로만 생성되므로 인증 상태를 바꿀 수 없음
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        throw new IllegalArgumentException("JwtAuthentication is always authenticated");
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+
+}
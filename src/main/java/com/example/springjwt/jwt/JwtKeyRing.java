@@ -0,0 +1,278 @@
+package com.example.springjwt.jwt;
+
+import io.jsonwebtoken.security.Jwks;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+// 비대칭 서명 키 묶음 (kid → 검증 키)
+// spring.jwt.keys.dir 디렉토리에서 키 파일을 읽음
+//   {kid}.pub : X.509 공개키 PEM (필수, 검증용)
+//   {kid}.key : PKCS#8 개인키 PEM (선택, 서명용)
+// 지원 키 : EC P-256(ES256), Ed25519(EdDSA)
+// 디렉토리를 주기적으로 다시 읽어 재시작 없이 키를 회전하며, 디렉토리에서 사라진 키도 retain-ms 동안은 검증에 사용
+// (그 사이에 이전 키로 서명된 토큰이 모두 만료됨)
+// 디렉토리를 지정하지 않으면 비활성화되며, JWTUtil은 기존 HS256 비밀 키만 사용
+// 개인키가 처음 사용된 시각(전환 시각)부터 legacy-window-ms 동안만 kid 없는 HS256 토큰을 허용하고, 이후에는 거부
+// (기본값 24시간 = Refresh 토큰 생명 주기, 전환 전에 발급된 토큰이 모두 만료될 때까지, 전환 시각은 개인키 파일을 배치한 시각)
+// 전환이 끝나면 legacy-window-ms=0 으로 설정하여 재시작/키 교체 후에도 HS256 토큰을 받지 않도록 함
+// 다시 읽을 때 서명 키의 개인키가 사라졌으면 HS256으로 돌아가지 않고 이전 서명 키를 계속 사용
+public class JwtKeyRing {
+
+    private static final String[] KEY_ALGORITHMS = {"EC", "Ed25519"};
+
+    private final Path dir;
+    private final String activeKid;
+    private final long retainMs;
+    private final long legacyWindowMs;
+
+    // 재로딩 시 통째로 교체되는 불변 스냅샷 (요청 스레드는 락 없이 읽기만 함)
+    private volatile Map<String, VerificationKey> verificationKeys = Map.of();
+    private volatile SigningKey signingKey;
+    private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+
+    // 비대칭 서명 전환 시각 (디렉토리에 있는 개인키 파일 중 가장 오래된 수정 시각, 0이면 아직 HS256으로 서명)
+    // 재로딩으로 늦춰지지 않음 (최솟값만 유지)
+    private volatile long cutoverAt;
+
+    @Autowired
+    public JwtKeyRing(@Value("${spring.jwt.keys.dir:}") String dir,
+                      @Value("${spring.jwt.keys.active:}") String activeKid,
+                      @Value("${spring.jwt.keys.retain-ms:86400000}") long retainMs,
+                      @Value("${spring.jwt.keys.legacy-window-ms:86400000}") long legacyWindowMs) {
+
+        this.dir = (dir == null || dir.isBlank()) ? null : Paths.get(dir);
+        this.activeKid = (activeKid == null || activeKid.isBlank()) ? null : activeKid;
+        this.retainMs = retainMs;
+        this.legacyWindowMs = legacyWindowMs;
+
+        reload();
+    }
+
+    public JwtKeyRing(String dir, String activeKid, long retainMs) {
+        this(dir, activeKid, retainMs, 86400000L);
+    }
+
+    public boolean isEnabled() {
+        return dir != null;
+    }
+
+    // 현재 서명에 사용할 키 (비활성화 상태이거나 개인키가 없으면 null)
+    public SigningKey getSigningKey() {
+        return signingKey;
+    }
+
+    // kid 없는 HS256 토큰 허용 여부 (전환 전이거나 전환 후 legacy-window-ms 이내)
+    public boolean acceptsLegacyTokens(long now) {
+
+        long cutover = cutoverAt;
+        return cutover == 0L || now - cutover < legacyWindowMs;
+    }
+
+    // kid에 해당하는 검증 키 (없으면 null)
+    public PublicKey findVerificationKey(String kid) {
+        VerificationKey key = verificationKeys.get(kid);
+        return key == null ? null : key.getPublicKey();
+    }
+
+    // 리소스 서버가 캐시해서 사용할 JWKS 문서
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    // 키 디렉토리를 다시 읽어 스냅샷 교체
+    @Scheduled(fixedDelayString = "${spring.jwt.keys.reload-interval-ms:60000}")
+    public synchronized void reload() {
+
+        if (dir == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, VerificationKey> loaded = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+        Map<String, Long> privateKeyModified = new HashMap<>();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pub")) {
+                    String kid = name.substring(0, name.length() - 4);
+                    PublicKey publicKey = parsePublicKey(readPem(file));
+                    loaded.put(kid, new VerificationKey(kid, publicKey, algorithmOf(publicKey), 0L));
+                } else if (name.endsWith(".key")) {
+                    String kid = name.substring(0, name.length() - 4);
+                    privateKeys.put(kid, parsePrivateKey(readPem(file)));
+                    privateKeyModified.put(kid, Files.getLastModifiedTime(file).toMillis());
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 읽기 실패 시 기존 스냅샷 유지
+            log.error("failed to load jwt keys from {}", dir, e);
+            return;
+        }
+
+        // 디렉토리에서 사라진 키는 retain-ms 동안 검증용으로 유지
+        for (VerificationKey previous : verificationKeys.values()) {
+            if (loaded.containsKey(previous.getKid())) {
+                continue;
+            }
+            long retiredAt = previous.getRetiredAt() == 0L ? now : previous.getRetiredAt();
+            if (now - retiredAt < retainMs) {
+                loaded.put(previous.getKid(), new VerificationKey(previous.getKid(), previous.getPublicKey(), previous.getAlgorithm(), retiredAt));
+            }
+        }
+
+        // 서명 키 선택 : spring.jwt.keys.active 로 지정한 kid, 없으면 가장 최근에 추가된 개인키
+        String kid = activeKid;
+        if (kid == null) {
+            kid = privateKeyModified.entrySet().stream()
+                    .filter(entry -> loaded.containsKey(entry.getKey()))
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        SigningKey nextSigningKey = null;
+        if (kid != null && privateKeys.containsKey(kid) && loaded.containsKey(kid)) {
+            nextSigningKey = new SigningKey(kid, privateKeys.get(kid));
+        } else if (signingKey != null) {
+            // 이미 비대칭 서명 중이면 HS256으로 돌아가지 않음 (JWKS로 검증하는 서버가 검증할 수 없는 토큰이 됨)
+            log.error("jwt signing key {} not found in {}, keeping signing key {}", kid, dir, signingKey.getKid());
+            nextSigningKey = signingKey;
+            VerificationKey current = verificationKeys.get(signingKey.getKid());
+            if (current != null) {
+                loaded.putIfAbsent(current.getKid(), current);
+            }
+        } else if (kid != null) {
+            log.warn("jwt signing key {} not found in {}", kid, dir);
+        }
+
+        // 전환 시각은 앞당겨지기만 함
+        if (nextSigningKey != null) {
+            long firstModified = privateKeyModified.entrySet().stream()
+                    .filter(entry -> loaded.containsKey(entry.getKey()))
+                    .mapToLong(Map.Entry::getValue)
+                    .min()
+                    .orElse(now);
+            cutoverAt = cutoverAt == 0L ? firstModified : Math.min(cutoverAt, firstModified);
+        }
+
+        verificationKeys = Map.copyOf(loaded);
+        signingKey = nextSigningKey;
+        jwks = buildJwks(loaded);
+    }
+
+    private static Map<String, Object> buildJwks(Map<String, VerificationKey> keys) {
+
+        List<Map<String, Object>> jwkList = new ArrayList<>();
+        for (VerificationKey key : keys.values()) {
+
+            Map<String, Object> jwk = new LinkedHashMap<>(Jwks.builder().key(key.getPublicKey()).id(key.getKid()).build());
+            jwk.put("alg", key.getAlgorithm());
+            jwk.put("use", "sig");
+            jwkList.add(jwk);
+        }
+
+        return Map.of("keys", List.copyOf(jwkList));
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+
+        String pem = Files.readString(file);
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static PublicKey parsePublicKey(byte[] der) {
+
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(der));
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException ignored) {
+                // 다음 알고리즘으로 시도
+            }
+        }
+
+        throw new IllegalArgumentException("unsupported public key (EC P-256 / Ed25519 only)");
+    }
+
+    private static PrivateKey parsePrivateKey(byte[] der) {
+
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException ignored) {
+                // 다음 알고리즘으로 시도
+            }
+        }
+
+        throw new IllegalArgumentException("unsupported private key (EC P-256 / Ed25519 only)");
+    }
+
+    private static String algorithmOf(PublicKey publicKey) {
+
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            if (ecPublicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalArgumentException("only P-256 EC keys are supported");
+            }
+            return "ES256";
+        }
+
+        return "EdDSA";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SigningKey {
+
+        private final String kid;
+
+        private final PrivateKey privateKey;
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class VerificationKey {
+
+        private final String kid;
+
+        private final PublicKey publicKey;
+
+        private final String algorithm;
+
+        // 디렉토리에서 사라진 시각 (0이면 현재 사용 중인 키)
+        private final long retiredAt;
+
+    }
+
+}
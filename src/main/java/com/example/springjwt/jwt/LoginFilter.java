@@ -1,8 +1,14 @@
 package com.example.springjwt.jwt;
 
 import com.example.springjwt.dto.CustomUserDetails;
-import com.example.springjwt.entity.RefreshEntity;
-import com.example.springjwt.repository.RefreshRepository;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshTokenStore;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.security.PasswordHashingBusyException;
+import com.example.springjwt.security.RateLimit;
+import com.example.springjwt.security.RateLimitedException;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,7 +36,15 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter { // 이 
     // JWTUtil 주입
     private final JWTUtil jwtUtil;
 
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenStore refreshTokenStore;
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final AuthMetrics authMetrics;
+
+    private final AuthRateLimiter authRateLimiter;
+
+    private final RefreshSessionService refreshSessionService;
 
     @Override
     public Authentication attemptAuthentication( // 로그인 시도가 발생하면 실행되는 메소드
@@ -41,6 +55,11 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter { // 이 
         // 클라이언트 요청에서 사용자의 username, password 추출
         // 내부적으로 request.getParameter("username") 또는 request.getParameter("password")와 동일
         String username = obtainUsername(request);
+
+        // 요청 제한 확인 (사용자 조회, bcrypt 검증 전에 거부, IP를 먼저 확인하여 여러 username을 시도하는 클라이언트도 차단)
+        authRateLimiter.acquire(RateLimit.LOGIN_IP, request.getRemoteAddr());
+        authRateLimiter.acquire(RateLimit.LOGIN_USERNAME, username);
+
         String password = obtainPassword(request);
 
         /*
@@ -74,32 +93,47 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter { // 이 
 
         String role = auth.getAuthority(); // 권한 이름 추출
 
-        String access = jwtUtil.createJwt("access", username, role, 600000L); // 생명 주기 : 10분
-        String refresh = jwtUtil.createJwt("refresh", username, role, 86400000L);  // 생명 주기 : 24시간
+        // 현재 세대 번호를 토큰에 포함 (세대 번호가 올라가면 이 토큰들은 무효)
+        long generation = tokenGenerationService.current(username);
+
+        String access = jwtUtil.createJwt("access", username, role, generation, 600000L); // 생명 주기 : 10분
+        String refresh = jwtUtil.createJwt("refresh", username, role, generation, 86400000L);  // 생명 주기 : 24시간
 
         // RefreshToken 저장
-        addRefreshEntity(username, refresh);
+        refreshTokenStore.save(refresh, username);
+        // 세션 목록에 기기 정보와 함께 등록
+        refreshSessionService.opened(refresh, username, request.getRemoteAddr(), request.getHeader("User-Agent"));
 
         // AccessToken은 응답 헤더에 담아서 클라이언트에게 전달, 프론트에서 로컬 스토리지에 저장
         // RefreshToken은 쿠키에 저장
         response.addHeader("Authorization", "Bearer " + access);
         response.addCookie(createCookie("refresh", refresh));
         response.setStatus(HttpStatus.OK.value());
+        authMetrics.outcome("login", "success");
     }
 
     // 로그인 실패 시 실행하는 메소드
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) {
-        response.setStatus(401);
-    }
 
-    private void addRefreshEntity(String username, String refresh) {
-
-        RefreshEntity refreshEntity = new RefreshEntity();
-        refreshEntity.setUsername(username);
-        refreshEntity.setRefresh(refresh);
-
-        refreshRepository.save(refreshEntity);
+        // 비밀번호 검증 대기열이 가득 찬 경우 (인증 실패가 아니라 일시적인 과부하)
+        if (failed instanceof PasswordHashingBusyException) {
+            authMetrics.outcome("login", "busy");
+            response.setHeader("Retry-After", String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        // 요청 제한 초과
+        if (failed instanceof RateLimitedException rateLimited) {
+            authMetrics.outcome("login", "rate_limited");
+            response.setHeader("Retry-After", String.valueOf(rateLimited.getRetryAfterSeconds()));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        authMetrics.outcome("login", "bad_credentials");
+        response.setStatus(401);
     }
 
     private Cookie createCookie(String key, String value) {
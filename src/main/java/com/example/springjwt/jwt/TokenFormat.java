@@ -0,0 +1,16 @@
+package com.example.springjwt.jwt;
+
+// 토큰 발급 형식 (spring.jwt.format), JWT 형식은 발급 형식과 관계없이 모두 검증 (전환 기간 동안 기존 토큰 사용 가능)
+// 바이너리 토큰은 binary로 발급 중이거나 spring.jwt.format.accept-binary=true일 때만 검증
+public enum TokenFormat {
+
+    // 기존 JWT (category, username, role, gen 클레임)
+    STANDARD,
+
+    // 짧은 클레임 이름(sub, t, r, g)과 카테고리/역할 코드값을 사용하는 JWT
+    COMPACT,
+
+    // JSON을 사용하지 않는 바이너리 토큰 (BinaryTokenCodec)
+    BINARY
+
+}
@@ -0,0 +1,38 @@
+package com.example.springjwt.jwt;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 서명 검증이 끝난 토큰의 클레임을 담는 불변 객체
+// JWTUtil.verify()에서 한 번 파싱한 결과를 필터/컨트롤러가 그대로 재사용하기 위해 사용
+public class VerifiedToken {
+
+    // 토큰 ID (jti 클레임, 폐기 목록 확인용)
+    private final String id;
+
+    private final String category;
+
+    private final String username;
+
+    private final String role;
+
+    // 발급/만료 시각 (epoch ms, 캐시에서 여러 요청이 같은 객체를 공유하므로 변경 가능한 Date 대신 long으로 보관)
+    private final long issuedAt;
+
+    private final long expiration;
+
+    // 발급 시점의 사용자 토큰 세대 번호 (세대 번호가 올라가면 이전 세대 토큰은 모두 무효)
+    private final long generation;
+
+    // HS256 비밀 키로 서명된 토큰 (kid 없는 JWT, 바이너리 토큰)
+    // 비대칭 서명으로 전환되면 더 이상 허용되지 않으므로 캐시에 있는 검증 결과도 다시 확인해야 함
+    private final boolean secretKeySigned;
+
+    // 토큰 카테고리 확인 (access/refresh)
+    public boolean isCategory(String expected) {
+        return expected.equals(category);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.springjwt.jwt;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@Component
+// 서명 검증이 끝난 Access 토큰을 보관하는 인메모리 캐시
+// 같은 Access 토큰이 만료 전까지 여러 번 전송되므로, 두 번째 요청부터는 HMAC 검증과 JSON 파싱을 생략
+// Caffeine은 내부적으로 ConcurrentHashMap 기반이므로 여러 Tomcat 스레드가 동시에 읽어도 락 경합이 없음
+public class VerifiedTokenCache {
+
+    private final JWTUtil jwtUtil;
+
+    // 비활성화 시 null (항상 JWTUtil로 직접 검증)
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JWTUtil jwtUtil,
+                              @Value("${spring.jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${spring.jwt.cache.max-size:100000}") long maxSize,
+                              AuthMetrics authMetrics) {
+
+        this.jwtUtil = jwtUtil;
+        this.cache = enabled ? Caffeine.newBuilder()
+                .maximumSize(maxSize) // 크기 제한 초과 시 오래 사용되지 않은 항목부터 제거
+                .expireAfter(new TokenExpiry()) // 각 항목은 토큰의 exp 시각에 제거
+                .recordStats()
+                .build() : null;
+
+        // 적중률/제거 횟수를 cache.* 지표로 노출 (cache=verifiedTokens)
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(authMetrics.getRegistry(), cache, "verifiedTokens");
+        }
+    }
+
+    // 캐시에 있으면 검증 결과를 그대로 반환, 없으면 JWTUtil로 검증 후 저장
+    // 만료/위조 토큰은 JWTUtil.verify()에서 예외가 발생하므로 캐시에 저장되지 않음
+    // HS256 비밀 키로 서명된 토큰이 비대칭 서명 전환(허용 기간 종료)으로 더 이상 허용되지 않으면 항목을 지우고 다시 검증 (예외 발생)
+    public VerifiedToken verify(String token) {
+
+        if (cache == null) {
+            return jwtUtil.verify(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (jwtUtil.isStillAccepted(token, cached)) {
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+
+        VerifiedToken verified = jwtUtil.verify(token);
+        cache.put(key, verified);
+
+        return verified;
+    }
+
+    // 캐시 적중/미적중 횟수
+    public long getHitCount() {
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
+    // 토큰 전체를 SHA-256으로 요약하여 키로 사용 (토큰 원문을 메모리에 보관하지 않기 위함)
+    // 서명 부분만 키로 쓰면 페이로드를 바꾼 위조 토큰이 캐시에 적중할 수 있으므로 반드시 전체를 요약
+    private static String digest(String token) {
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 항목별 만료 시간 = 토큰의 exp - 현재 시각
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMs = value.getExpiration() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.example.springjwt.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+// 인증 경로 측정 지표 (Actuator /actuator/metrics/auth.* 에서 확인)
+// 태그 조합별 Timer/Counter를 처음 한 번만 등록하고 이후에는 맵에서 꺼내 쓰므로 요청마다 Meter 조회/생성 비용이 없음
+// 백분위 히스토그램은 management.metrics.distribution.percentiles-histogram.auth 설정으로 켜고 끔
+public class AuthMetrics {
+
+    // JWTUtil.verify() 결과
+    public static final String VERIFY_OK = "ok";
+    public static final String VERIFY_EXPIRED = "expired";
+    public static final String VERIFY_BAD_SIGNATURE = "bad_signature";
+    public static final String VERIFY_INVALID = "invalid";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> verifyTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> createTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> refreshStoreTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> passwordTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> refreshStoreFallbacks = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> sessionIndexFailures = new ConcurrentHashMap<>();
+
+    private final Counter generationUnavailable;
+
+    // flow(login/reissue/logout/access) → outcome → Counter
+    private final Map<String, Map<String, Counter>> outcomes = new ConcurrentHashMap<>();
+
+    private final Counter passwordRejected;
+
+    // flow(login/reissue) → dimension(ip/username) → Counter
+    private final Map<String, Map<String, Counter>> rateLimited = new ConcurrentHashMap<>();
+
+    // flow(login/reissue) → Counter
+    private final Map<String, Counter> rateLimitFailOpen = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+
+        this.registry = registry;
+        this.passwordRejected = Counter.builder("auth.password.rejected")
+                .description("bcrypt 대기열이 가득 차 거부된 요청 수")
+                .register(registry);
+        this.generationUnavailable = Counter.builder("auth.generation.unavailable")
+                .description("세대 번호 저장소(Redis) 장애로 세대 번호를 확인하지 못하고 현재 세대로 간주한 조회 수")
+                .register(registry);
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    // 토큰 파싱/서명 검증 시간 (result: ok, expired, bad_signature, invalid)
+    public void recordVerify(String result, long nanos) {
+
+        verifyTimers.computeIfAbsent(result, key -> Timer.builder("auth.token.verify")
+                        .tag("result", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 토큰 생성(서명) 시간
+    public void recordCreate(String category, long nanos) {
+
+        createTimers.computeIfAbsent(category, key -> Timer.builder("auth.token.create")
+                        .tag("category", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Refresh 토큰 저장소 명령별 시간 (operation: save, exists, delete, rotate)
+    public void recordRefreshStore(String operation, long nanos) {
+
+        refreshStoreTimers.computeIfAbsent(operation, key -> Timer.builder("auth.refresh.store")
+                        .tag("operation", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Redis 대신 로컬 저장소로 처리한 Refresh 토큰 저장소 호출 수 (operation: save, exists, delete, rotate)
+    public void refreshStoreFallback(String operation) {
+
+        refreshStoreFallbacks.computeIfAbsent(operation, key -> Counter.builder("auth.refresh.store.fallback")
+                        .tag("operation", key)
+                        .register(registry))
+                .increment();
+    }
+
+    // 세션 목록 갱신 실패 수 (로그인/재발급/로그아웃은 그대로 진행, operation: add, replace, remove, clear)
+    public void sessionIndexFailure(String operation) {
+
+        sessionIndexFailures.computeIfAbsent(operation, key -> Counter.builder("auth.session.index.failure")
+                        .tag("operation", key)
+                        .register(registry))
+                .increment();
+    }
+
+    // bcrypt 해싱/검증 시간 (대기열에서 기다린 시간은 제외, operation: encode, matches)
+    public void recordPassword(String operation, long nanos) {
+
+        passwordTimers.computeIfAbsent(operation, key -> Timer.builder("auth.password.hash")
+                        .tag("operation", key)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void passwordRejected() {
+        passwordRejected.increment();
+    }
+
+    // 요청 제한(토큰 버킷)으로 거부된 요청 수
+    public void rateLimited(String flow, String dimension) {
+
+        rateLimited.computeIfAbsent(flow, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(dimension, key -> Counter.builder("auth.rate_limited")
+                        .tag("flow", flow)
+                        .tag("dimension", key)
+                        .register(registry))
+                .increment();
+    }
+
+    // 요청 제한 저장소(Redis) 장애로 확인 없이 허용한 요청 수
+    public void rateLimitFailOpen(String flow) {
+
+        rateLimitFailOpen.computeIfAbsent(flow, key -> Counter.builder("auth.rate_limit.fail_open")
+                        .tag("flow", key)
+                        .register(registry))
+                .increment();
+    }
+
+    public void generationUnavailable() {
+        generationUnavailable.increment();
+    }
+
+    // 요청 처리 결과 (예: login/success, reissue/expired, access/revoked)
+    public void outcome(String flow, String outcome) {
+
+        outcomes.computeIfAbsent(flow, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Counter.builder("auth.outcome")
+                        .tag("flow", flow)
+                        .tag("outcome", key)
+                        .register(registry))
+                .increment();
+    }
+
+}
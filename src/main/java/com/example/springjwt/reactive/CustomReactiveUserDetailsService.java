@@ -0,0 +1,37 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.service.CustomUserDetailsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+// 리액티브 모드의 사용자 조회 (JPA 조회는 블로킹이므로 boundedElastic 스레드에서 실행)
+public class CustomReactiveUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final CustomUserDetailsService customUserDetailsService;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+
+        // 없는 사용자는 UsernameNotFoundException → 인증 실패로 처리됨
+        return Mono.fromCallable(() -> customUserDetailsService.loadUserByUsername(username))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 로그인 성공 후 저장된 해시의 cost가 현재 설정보다 낮으면 새 해시로 호출
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+
+        return Mono.fromCallable(() -> customUserDetailsService.updatePassword(user, newPassword))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+}
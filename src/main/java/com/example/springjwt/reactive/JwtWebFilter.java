@@ -0,0 +1,100 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.dto.JwtPrincipal;
+import com.example.springjwt.jwt.JwtAuthentication;
+import com.example.springjwt.jwt.VerifiedToken;
+import com.example.springjwt.jwt.VerifiedTokenCache;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.TokenGenerationService;
+import io.jsonwebtoken.ExpiredJwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+@RequiredArgsConstructor
+// JWTFilter의 리액티브 버전 (검증/폐기 확인은 모두 메모리 캐시에서 처리되므로 이벤트 루프에서 실행)
+public class JwtWebFilter implements WebFilter {
+
+    // 검증 결과 캐시 (비활성화 시 내부에서 JWTUtil로 직접 검증)
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // 사용자별 토큰 세대 번호 (모든 기기 로그아웃 확인용)
+    private final TokenGenerationService tokenGenerationService;
+
+    // 로그아웃으로 폐기된 Access 토큰 목록
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    // 검증 결과 집계
+    private final AuthMetrics authMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        //Authorization 헤더 검증, 토큰이 없으면 다음 필터로 (인가 규칙에서 처리)
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            authMetrics.outcome("access", "missing");
+            return chain.filter(exchange);
+        }
+
+        //Bearer 부분 제거 후 순수 토큰만 획득
+        String accessToken = authorization.substring("Bearer ".length());
+
+        // 토큰을 한 번만 파싱하여 서명/만료 검증, 만료시 다음 필터로 넘기지 않음
+        VerifiedToken token;
+        try {
+            token = verifiedTokenCache.verify(accessToken);
+        } catch (ExpiredJwtException e) {
+            authMetrics.outcome("access", "expired");
+            return unauthorized(exchange.getResponse(), "access token expired");
+        }
+
+        // 토큰이 access인지 확인 (발급시 페이로드에 명시)
+        if (!token.isCategory("access")) {
+            authMetrics.outcome("access", "wrong_category");
+            return unauthorized(exchange.getResponse(), "invalid access token");
+        }
+
+        // 폐기 여부 확인 (로그아웃된 Access 토큰이면 다음 필터로 넘기지 않음)
+        if (accessTokenDenylist.isRevoked(token.getId())) {
+            authMetrics.outcome("access", "revoked");
+            return unauthorized(exchange.getResponse(), "revoked access token");
+        }
+
+        // 세대 번호 확인 (캐시에 없으면 Redis 조회가 끝난 뒤 이어서 진행)
+        return Mono.fromFuture(tokenGenerationService.currentAsync(token.getUsername()))
+                .flatMap(generation -> {
+
+                    if (token.getGeneration() < generation) {
+                        authMetrics.outcome("access", "stale_generation");
+                        return unauthorized(exchange.getResponse(), "revoked access token");
+                    }
+
+                    //검증된 클레임으로 인증 정보 생성 (UserEntity를 만들지 않고, 권한 목록은 역할별로 공유)
+                    Authentication authToken = new JwtAuthentication(new JwtPrincipal(token.getUsername(), token.getRole()));
+
+                    authMetrics.outcome("access", "ok");
+
+                    // 요청 처리 동안에만 유효한 SecurityContext (세션에 저장하지 않음)
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+                });
+    }
+
+    private Mono<Void> unauthorized(ServerHttpResponse response, String message) {
+
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
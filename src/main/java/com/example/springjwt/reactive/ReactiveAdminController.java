@@ -0,0 +1,46 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Controller
+@ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+// AdminController의 리액티브 버전
+// 세대 번호 증가(Redis INCR)와 세션 목록 삭제는 블로킹 호출이므로 이벤트 루프가 아닌 boundedElastic 스레드에서 실행
+public class ReactiveAdminController {
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final RefreshSessionService refreshSessionService;
+
+    @GetMapping("/admin")
+    public String admin_page() {
+        return "admin Controller";
+    }
+
+    // 사용자의 모든 세션(Access/Refresh 토큰) 무효화
+    @PostMapping("/admin/users/{username}/revoke-all")
+    public Mono<String> revokeAll(@PathVariable String username) {
+
+        return Mono.fromCallable(() -> {
+                    tokenGenerationService.revokeAll(username);
+                    // 모든 세션이 무효화되었으므로 세션 목록도 비움
+                    refreshSessionService.clear(username);
+
+                    return "ok";
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+}
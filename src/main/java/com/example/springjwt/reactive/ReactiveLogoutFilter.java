@@ -0,0 +1,118 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.VerifiedToken;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.ReactiveRefreshTokenStore;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.RefreshSessionService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RequiredArgsConstructor
+// CustomLogoutFilter의 리액티브 버전
+public class ReactiveLogoutFilter implements WebFilter {
+
+    private final JWTUtil jwtUtil;
+    private final ReactiveRefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final RefreshSessionService refreshSessionService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        //path and method verify
+        ServerHttpRequest request = exchange.getRequest();
+        if (!"/logout".equals(request.getPath().value()) || request.getMethod() != HttpMethod.POST) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+
+        //get refresh token
+        HttpCookie cookie = request.getCookies().getFirst("refresh");
+        if (cookie == null) {
+            return badRequest(response, "missing");
+        }
+        String refresh = cookie.getValue();
+
+        //expired check (한 번만 파싱하여 검증된 클레임을 재사용)
+        VerifiedToken token;
+        try {
+            token = jwtUtil.verify(refresh);
+        } catch (ExpiredJwtException e) {
+            return badRequest(response, "expired");
+        }
+
+        // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
+        if (!token.isCategory("refresh")) {
+            return badRequest(response, "wrong_category");
+        }
+
+        //Refresh 토큰 Redis에서 제거 (저장되어 있지 않았다면 실패)
+        return refreshTokenStore.delete(refresh, token.getUsername())
+                .flatMap(deleted -> {
+
+                    if (!deleted) {
+                        return badRequest(response, "not_found");
+                    }
+
+                    //Refresh 토큰 Cookie 값 0
+                    response.addCookie(ResponseCookie.from("refresh", "").maxAge(0).path("/").build());
+                    response.setStatusCode(HttpStatus.OK);
+                    authMetrics.outcome("logout", "ok");
+
+                    //세션 목록에서 제거, Access 토큰 폐기 (Redis 호출이 블로킹이므로 별도 스레드에서 실행, Redis 장애 시에도 정상 응답)
+                    return Mono.fromRunnable(() -> refreshSessionService.closed(refresh, token.getUsername()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(revokeAccessToken(request, token.getUsername()))
+                            .then(response.setComplete());
+                });
+    }
+
+    private Mono<Void> revokeAccessToken(ServerHttpRequest request, String username) {
+
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+
+        VerifiedToken access;
+        try {
+            access = jwtUtil.verify(authorization.substring("Bearer ".length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            //만료되었거나 유효하지 않은 Access 토큰은 폐기할 필요 없음
+            return Mono.empty();
+        }
+
+        if (!access.isCategory("access") || !username.equals(access.getUsername())) {
+            return Mono.empty();
+        }
+
+        return Mono.fromRunnable(() -> accessTokenDenylist.revoke(access.getId(), access.getExpiration()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<Void> badRequest(ServerHttpResponse response, String outcome) {
+
+        authMetrics.outcome("logout", outcome);
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        return response.setComplete();
+    }
+
+}
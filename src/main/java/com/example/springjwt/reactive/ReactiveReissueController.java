@@ -0,0 +1,150 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.VerifiedToken;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.ReactiveRefreshTokenStore;
+import com.example.springjwt.repository.RefreshTokenReusedException;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.security.RateLimit;
+import com.example.springjwt.security.RateLimitedException;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import io.jsonwebtoken.ExpiredJwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Controller
+@ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+// ReissueController의 리액티브 버전
+public class ReactiveReissueController {
+
+    private final JWTUtil jwtUtil;
+
+    private final ReactiveRefreshTokenStore refreshTokenStore;
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final AuthMetrics authMetrics;
+
+    private final RefreshSessionService refreshSessionService;
+
+    private final AuthRateLimiter authRateLimiter;
+
+    @PostMapping("/reissue")
+    public Mono<ResponseEntity<?>> reissue(ServerHttpRequest request, ServerHttpResponse response) {
+
+        // IP별 요청 제한 확인 (토큰 파싱 전에 거부)
+        return ReactiveSecurityConfig.rateLimit(authRateLimiter, RateLimit.REISSUE_IP, ReactiveSecurityConfig.remoteAddress(request))
+                .then(Mono.defer(() -> rotate(request, response)))
+                .onErrorResume(RateLimitedException.class, e -> Mono.just(rateLimited(e)));
+    }
+
+    private Mono<ResponseEntity<?>> rotate(ServerHttpRequest request, ServerHttpResponse response) {
+
+        //get refresh token
+        HttpCookie cookie = request.getCookies().getFirst("refresh");
+        if (cookie == null) {
+            authMetrics.outcome("reissue", "missing");
+            return Mono.just(new ResponseEntity<>("refresh token null", HttpStatus.BAD_REQUEST));
+        }
+        String refresh = cookie.getValue();
+
+        //expired check (한 번만 파싱하여 검증된 클레임을 재사용)
+        VerifiedToken token;
+        try {
+            token = jwtUtil.verify(refresh);
+        } catch (ExpiredJwtException e) {
+            authMetrics.outcome("reissue", "expired");
+            return Mono.just(new ResponseEntity<>("refresh token expired", HttpStatus.BAD_REQUEST));
+        }
+
+        // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
+        if (!token.isCategory("refresh")) {
+            authMetrics.outcome("reissue", "wrong_category");
+            return Mono.just(new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST));
+        }
+
+        String username = token.getUsername();
+        String role = token.getRole();
+
+        // username별 요청 제한 확인 후 세대 번호 확인 (모든 기기에서 로그아웃된 이후의 이전 세대 토큰이면 거부)
+        return ReactiveSecurityConfig.rateLimit(authRateLimiter, RateLimit.REISSUE_USERNAME, username)
+                .then(Mono.fromFuture(() -> tokenGenerationService.currentAsync(username)))
+                .<ResponseEntity<?>>flatMap(generation -> {
+
+                    if (token.getGeneration() < generation) {
+                        authMetrics.outcome("reissue", "stale_generation");
+                        return Mono.just(new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST));
+                    }
+
+                    // AccessToken과 RefreshToken 재생성 (생명 주기: Access - 10분, Refresh - 24시간)
+                    TokenPair next = new TokenPair(
+                            jwtUtil.createJwt("access", username, role, generation, 600000L),
+                            jwtUtil.createJwt("refresh", username, role, generation, 86400000L));
+
+                    //기존 Refresh 토큰 삭제, 새 Refresh 토큰 저장
+                    //먼저 회전한 요청(같은/다른 노드)이 있으면 유예 시간 안에는 Redis 회전 기록의 토큰 쌍을 받음
+                    //저장되어 있지 않거나 유예 시간이 지난 재사용이면 실패
+                    return refreshTokenStore.rotate(refresh, next, username)
+                            .flatMap(pair -> {
+
+                                if (pair != next) {
+                                    authMetrics.outcome("reissue", "coalesced");
+                                    return Mono.just(pair);
+                                }
+
+                                //이 요청이 회전했으면 세션 목록의 세션 ID를 새 토큰으로 변경 (블로킹 호출이므로 별도 스레드에서 실행)
+                                return Mono.fromRunnable(() -> refreshSessionService.rotated(refresh, next.getRefresh(), username))
+                                        .subscribeOn(Schedulers.boundedElastic())
+                                        .thenReturn(pair);
+                            })
+                            .<ResponseEntity<?>>map(pair -> {
+
+                                response.getHeaders().add("Authorization", "Bearer " + pair.getAccess());
+                                response.addCookie(ReactiveSecurityConfig.refreshCookie(pair.getRefresh()));
+                                authMetrics.outcome("reissue", "ok");
+
+                                return new ResponseEntity<>(HttpStatus.OK);
+                            })
+                            .switchIfEmpty(Mono.fromSupplier(this::notFound))
+                            .onErrorResume(RefreshTokenReusedException.class, e -> Mono.just(reused()));
+                });
+    }
+
+    // 이미 회전된 토큰을 유예 시간이 지난 뒤 다시 사용 (탈취된 토큰일 수 있음)
+    private ResponseEntity<?> reused() {
+
+        authMetrics.outcome("reissue", "reuse");
+        return new ResponseEntity<>("refresh token reused", HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<?> rateLimited(RateLimitedException e) {
+
+        authMetrics.outcome("reissue", "rate_limited");
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body("too many requests");
+    }
+
+    private ResponseEntity<?> notFound() {
+
+        authMetrics.outcome("reissue", "not_found");
+        return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.dto.CustomUserDetails;
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.VerifiedTokenCache;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.ReactiveRefreshTokenStore;
+import com.example.springjwt.security.AuthRateLimiter;
+import com.example.springjwt.security.PasswordHashingBusyException;
+import com.example.springjwt.security.RateLimit;
+import com.example.springjwt.security.RateLimitedException;
+import com.example.springjwt.service.AccessTokenDenylist;
+import com.example.springjwt.service.RefreshSessionService;
+import com.example.springjwt.service.TokenGenerationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.security.web.server.authentication.ServerFormLoginAuthenticationConverter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE) // spring.main.web-application-type=reactive 일 때만 사용
+@RequiredArgsConstructor
+// SecurityConfig의 리액티브 버전 (경로별 인가 규칙과 응답 형식은 서블릿 모드와 동일)
+public class ReactiveSecurityConfig {
+
+    private final JWTUtil jwtUtil;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final ReactiveRefreshTokenStore refreshTokenStore;
+
+    private final TokenGenerationService tokenGenerationService;
+
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    private final CustomReactiveUserDetailsService userDetailsService;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final AuthMetrics authMetrics;
+
+    private final RefreshSessionService refreshSessionService;
+
+    private final AuthRateLimiter authRateLimiter;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(Collections.singletonList("http://localhost:3000"));
+        configuration.setAllowedMethods(Collections.singletonList("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setAllowedHeaders(Collections.singletonList("*"));
+        configuration.setMaxAge(3600L);
+        configuration.setExposedHeaders(Collections.singletonList("Authorization"));
+
+        UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+        corsSource.registerCorsConfiguration("/**", configuration);
+
+        http
+                .cors((cors) -> cors.configurationSource(corsSource))
+                .csrf((auth) -> auth.disable())
+                .formLogin((auth) -> auth.disable())
+                .httpBasic((auth) -> auth.disable())
+                .logout((auth) -> auth.disable())
+                // 세션 미사용 (매 요청마다 JwtWebFilter가 인증 정보를 설정)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        // 경로별 인가 작업
+        http.authorizeExchange((auth) -> auth
+                .pathMatchers("/login", "/", "/join").permitAll()
+                .pathMatchers("/admin", "/admin/**").hasRole("ADMIN")
+                .pathMatchers("/reissue").permitAll()
+                .pathMatchers("/.well-known/jwks.json").permitAll()
+                .anyExchange().authenticated());
+
+        http.addFilterAt(loginFilter(), SecurityWebFiltersOrder.FORM_LOGIN);
+        http.addFilterAt(new JwtWebFilter(verifiedTokenCache, tokenGenerationService, accessTokenDenylist, authMetrics), SecurityWebFiltersOrder.AUTHENTICATION);
+        http.addFilterAt(new ReactiveLogoutFilter(jwtUtil, refreshTokenStore, accessTokenDenylist, authMetrics, refreshSessionService), SecurityWebFiltersOrder.LOGOUT);
+
+        return http.build();
+    }
+
+    // LoginFilter의 리액티브 버전 (POST /login 폼 파라미터 username, password)
+    private AuthenticationWebFilter loginFilter() {
+
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setUserDetailsPasswordService(userDetailsService);
+
+        AuthenticationWebFilter filter = new AuthenticationWebFilter(authenticationManager);
+        filter.setRequiresAuthenticationMatcher(ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/login"));
+        filter.setServerAuthenticationConverter(loginConverter());
+        filter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        filter.setAuthenticationSuccessHandler(this::onAuthenticationSuccess);
+        filter.setAuthenticationFailureHandler(this::onAuthenticationFailure);
+
+        return filter;
+    }
+
+    // 폼 파라미터를 읽은 뒤 요청 제한 확인 (사용자 조회, bcrypt 검증 전에 거부, IP를 먼저 확인하여 여러 username을 시도하는 클라이언트도 차단)
+    // 초과하면 RateLimitedException(AuthenticationException)으로 onAuthenticationFailure()에 전달됨
+    private ServerAuthenticationConverter loginConverter() {
+
+        ServerFormLoginAuthenticationConverter formConverter = new ServerFormLoginAuthenticationConverter();
+
+        return exchange -> formConverter.convert(exchange)
+                .flatMap(authentication -> rateLimit(authRateLimiter, RateLimit.LOGIN_IP, remoteAddress(exchange.getRequest()))
+                        .then(rateLimit(authRateLimiter, RateLimit.LOGIN_USERNAME, authentication.getName()))
+                        .thenReturn(authentication));
+    }
+
+    // 로그인 성공 시 Access 토큰은 헤더, Refresh 토큰은 쿠키로 전달
+    private Mono<Void> onAuthenticationSuccess(WebFilterExchange webFilterExchange, Authentication authentication) {
+
+        CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
+        String username = customUserDetails.getUsername();
+        String role = authentication.getAuthorities().iterator().next().getAuthority();
+
+        ServerHttpRequest request = webFilterExchange.getExchange().getRequest();
+        ServerHttpResponse response = webFilterExchange.getExchange().getResponse();
+
+        // 현재 세대 번호를 토큰에 포함 (세대 번호가 올라가면 이 토큰들은 무효)
+        return Mono.fromFuture(tokenGenerationService.currentAsync(username))
+                .flatMap(generation -> {
+
+                    String access = jwtUtil.createJwt("access", username, role, generation, 600000L); // 생명 주기 : 10분
+                    String refresh = jwtUtil.createJwt("refresh", username, role, generation, 86400000L);  // 생명 주기 : 24시간
+
+                    return refreshTokenStore.save(refresh, username)
+                            // 세션 목록에 기기 정보와 함께 등록 (블로킹 호출이므로 별도 스레드에서 실행)
+                            .then(Mono.fromRunnable(() -> refreshSessionService.opened(refresh, username,
+                                            remoteAddress(request), request.getHeaders().getFirst("User-Agent")))
+                                    .subscribeOn(Schedulers.boundedElastic()))
+                            .then(Mono.fromRunnable(() -> {
+                                response.getHeaders().add("Authorization", "Bearer " + access);
+                                response.addCookie(refreshCookie(refresh));
+                                response.setStatusCode(HttpStatus.OK);
+                                authMetrics.outcome("login", "success");
+                            }));
+                })
+                .then(response.setComplete());
+    }
+
+    private Mono<Void> onAuthenticationFailure(WebFilterExchange webFilterExchange, AuthenticationException exception) {
+
+        ServerHttpResponse response = webFilterExchange.getExchange().getResponse();
+
+        // 비밀번호 검증 대기열이 가득 찬 경우 (인증 실패가 아니라 일시적인 과부하)
+        if (exception instanceof PasswordHashingBusyException) {
+            authMetrics.outcome("login", "busy");
+            response.getHeaders().set("Retry-After", String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return response.setComplete();
+        }
+
+        // 요청 제한 초과
+        if (exception instanceof RateLimitedException rateLimited) {
+            authMetrics.outcome("login", "rate_limited");
+            response.getHeaders().set("Retry-After", String.valueOf(rateLimited.getRetryAfterSeconds()));
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return response.setComplete();
+        }
+
+        authMetrics.outcome("login", "bad_credentials");
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return response.setComplete();
+    }
+
+    // 요청 제한 확인 (로컬 버킷이 비면 Redis를 조회하는 블로킹 호출이므로 별도 스레드에서 실행, 초과하면 RateLimitedException)
+    static Mono<Void> rateLimit(AuthRateLimiter authRateLimiter, RateLimit limit, String id) {
+
+        return Mono.<Void>fromRunnable(() -> authRateLimiter.acquire(limit, id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // HttpServletRequest.getRemoteAddr()와 같은 형식의 클라이언트 IP
+    static String remoteAddress(ServerHttpRequest request) {
+
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return null;
+        }
+
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    static ResponseCookie refreshCookie(String value) {
+
+        return ResponseCookie.from("refresh", value)
+                .maxAge(24 * 60 * 60)
+                .httpOnly(true)
+                .build();
+    }
+
+}
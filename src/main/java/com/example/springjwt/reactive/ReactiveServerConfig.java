@@ -0,0 +1,20 @@
+package com.example.springjwt.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE) // spring.main.web-application-type=reactive 일 때만 사용
+// 리액티브 모드의 웹 서버를 Netty로 고정
+// spring-boot-starter-web(Tomcat)과 -webflux(Reactor Netty)가 함께 있으면 리액티브 서버 자동 구성이 Tomcat을 먼저 선택하므로
+// (Tomcat은 WebFlux를 서블릿 어댑터 위에서 실행, 이벤트 루프가 아님) ReactiveWebServerFactory를 직접 등록하여 자동 구성을 대신함
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
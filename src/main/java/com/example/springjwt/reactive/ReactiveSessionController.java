@@ -0,0 +1,90 @@
+package com.example.springjwt.reactive;
+
+import com.example.springjwt.dto.JwtPrincipal;
+import com.example.springjwt.dto.SessionRevokeResult;
+import com.example.springjwt.service.RefreshSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Controller
+@ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+// SessionController의 리액티브 버전 (경로, 요청/응답 형식은 같음)
+// 세션 목록 조회/폐기는 블로킹 Redis 호출이므로 이벤트 루프가 아닌 boundedElastic 스레드에서 실행
+public class ReactiveSessionController {
+
+    private final RefreshSessionService refreshSessionService;
+
+    @GetMapping("/sessions")
+    public Mono<ResponseEntity<?>> mySessions(@AuthenticationPrincipal JwtPrincipal principal,
+                                              ServerHttpRequest request,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int size) {
+        return list(principal.getUsername(), refreshCookie(request), cursor, size);
+    }
+
+    @PostMapping("/sessions/revoke")
+    public Mono<SessionRevokeResult> revokeMine(@AuthenticationPrincipal JwtPrincipal principal, @RequestBody List<String> ids) {
+        return blocking(() -> new SessionRevokeResult(refreshSessionService.revoke(principal.getUsername(), ids)));
+    }
+
+    // 요청에 사용된 Refresh 토큰(쿠키)의 세션만 남기고 모두 폐기
+    // 쿠키가 없으면 남길 세션을 알 수 없으므로 (현재 세션까지 폐기되지 않도록) 400
+    @PostMapping("/sessions/revoke-others")
+    public Mono<ResponseEntity<?>> revokeOthers(@AuthenticationPrincipal JwtPrincipal principal, ServerHttpRequest request) {
+
+        String refresh = refreshCookie(request);
+        if (refresh == null) {
+            return Mono.just(new ResponseEntity<>("refresh token null", HttpStatus.BAD_REQUEST));
+        }
+
+        return blocking(() -> ResponseEntity.ok(new SessionRevokeResult(refreshSessionService.revokeOthers(principal.getUsername(), refresh))));
+    }
+
+    @GetMapping("/admin/users/{username}/sessions")
+    public Mono<ResponseEntity<?>> userSessions(@PathVariable String username,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return list(username, null, cursor, size);
+    }
+
+    @PostMapping("/admin/users/{username}/sessions/revoke")
+    public Mono<SessionRevokeResult> revokeUserSessions(@PathVariable String username, @RequestBody List<String> ids) {
+        return blocking(() -> new SessionRevokeResult(refreshSessionService.revoke(username, ids)));
+    }
+
+    private Mono<ResponseEntity<?>> list(String username, String refresh, String cursor, int size) {
+
+        return this.<ResponseEntity<?>>blocking(() -> ResponseEntity.ok(refreshSessionService.list(username, refresh, cursor, size)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new ResponseEntity<>("invalid cursor", HttpStatus.BAD_REQUEST)));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String refreshCookie(ServerHttpRequest request) {
+
+        HttpCookie cookie = request.getCookies().getFirst("refresh");
+        return cookie == null ? null : cookie.getValue();
+    }
+
+}
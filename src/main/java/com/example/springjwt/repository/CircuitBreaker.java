@@ -0,0 +1,150 @@
+package com.example.springjwt.repository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// 지연 시간을 반영하는 서킷 브레이커
+// CLOSED    : 최근 window개 호출 중 실패 또는 느린 호출(slow-call 기준 이상) 비율이 임계값 이상이면 OPEN으로 전환
+// OPEN      : open 시간 동안 호출하지 않고 바로 거부 (Redis가 멈춘 동안 요청 스레드가 타임아웃까지 대기하지 않음)
+// HALF_OPEN : open 시간이 지나면 시험 호출 하나만 허용하고, 성공하면 CLOSED, 실패하거나 느리면 다시 OPEN
+// 허용한 호출에는 상태가 바뀔 때마다 올라가는 세대 번호(permit)를 주고, 결과는 현재 세대의 permit일 때만 반영
+// (열리기 전에 허용되어 늦게 끝난 호출이 HALF_OPEN 시험 호출 대신 상태를 결정하지 않음)
+// 상태 변경은 ReentrantLock으로 직렬화 (락을 잡은 상태로 I/O를 하지 않음)
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // 호출을 허용하지 않을 때 tryAcquire()가 반환하는 값
+    static final long NO_PERMIT = -1L;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    // 최근 호출 결과 (true: 실패 또는 느린 호출)
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int bad;
+
+    private volatile State state = State.CLOSED;
+    // 상태가 바뀔 때마다 증가 (락을 잡은 상태에서 state보다 먼저 변경)
+    private volatile long generation;
+    private long openedAt;
+    private boolean probing;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    CircuitBreaker(int window, int minimumCalls, double failureRateThreshold, long slowCallNanos, long openNanos) {
+
+        this.outcomes = new boolean[Math.max(1, window)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+    }
+
+    State getState() {
+        return state;
+    }
+
+    // 호출 허용 시 permit, 거부 시 NO_PERMIT (permit을 받은 쪽은 반드시 onResult()로 결과를 알려야 함)
+    long tryAcquire() {
+
+        // 세대 번호를 먼저 읽으므로, 읽은 뒤 상태가 바뀌었다면 이 permit의 결과는 이전 세대로 무시됨
+        long permit = generation;
+        if (state == State.CLOSED) {
+            return permit;
+        }
+
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return NO_PERMIT;
+                }
+                transition(State.HALF_OPEN);
+                probing = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probing) {
+                    return NO_PERMIT;
+                }
+                probing = true;
+            }
+
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onResult(long permit, long elapsedNanos, boolean failed) {
+
+        boolean badCall = failed || elapsedNanos >= slowCallNanos;
+
+        lock.lock();
+        try {
+            // 다른 상태에서 허용된 호출의 결과는 무시 (HALF_OPEN에서는 시험 호출만 현재 세대 permit을 가짐)
+            if (permit != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (badCall) {
+                    open();
+                } else {
+                    close();
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+
+            // 가장 오래된 결과를 새 결과로 교체
+            if (recorded == outcomes.length) {
+                if (outcomes[next]) {
+                    bad--;
+                }
+            } else {
+                recorded++;
+            }
+            outcomes[next] = badCall;
+            if (badCall) {
+                bad++;
+            }
+            next = (next + 1) % outcomes.length;
+
+            if (recorded >= minimumCalls && (double) bad / recorded >= failureRateThreshold) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transition(State next) {
+
+        generation++;
+        state = next;
+    }
+
+    private void open() {
+
+        transition(State.OPEN);
+        openedAt = System.nanoTime();
+        probing = false;
+    }
+
+    private void close() {
+
+        transition(State.CLOSED);
+        probing = false;
+        next = 0;
+        recorded = 0;
+        bad = 0;
+    }
+
+}
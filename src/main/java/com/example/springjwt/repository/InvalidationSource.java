@@ -0,0 +1,28 @@
+package com.example.springjwt.repository;
+
+import io.lettuce.core.api.sync.RedisCommands;
+
+import java.util.List;
+
+// 근거리 캐시(RefreshTokenNearCache)의 무효화 메시지 공급원 (Redis 클라이언트 측 캐싱 추적 연결)
+// 추적 연결로 보낸 쓰기는 무효화 메시지가 돌아오지 않아야 함 (NOLOOP)
+interface InvalidationSource {
+
+    // 추적 켜기 (서버나 연결 방식이 지원하지 않으면 false, 연결 실패 등 일시적인 실패는 예외)
+    // 무효화 메시지와 연결 끊김은 listener로 전달
+    boolean start(List<String> prefixes, Listener listener);
+
+    // 추적 연결의 명령 (연결 전이면 null)
+    RedisCommands<byte[], byte[]> commands();
+
+    void close();
+
+    interface Listener {
+
+        void onInvalidate(List<byte[]> keys);  // 무효화된 키 (null이면 FLUSHALL/FLUSHDB로 전체 무효화)
+
+        void onDisconnected();  // 추적 연결 끊김 (끊긴 동안의 무효화 메시지는 받을 수 없음)
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.example.springjwt.repository;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.List;
+
+@Slf4j
+// Lettuce 연결 기반 무효화 메시지 공급원 (단일 노드 Redis, RESP3 연결 필요)
+// RESP2 연결은 REDIRECT 없이 추적을 켜면 오류 없이 켜지지만 무효화 메시지가 오지 않으므로,
+// 처음 연결할 때 CLIENT INFO로 RESP3로 연결되었는지 확인하고 아니면 사용하지 않음
+class LettuceInvalidationSource implements InvalidationSource {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private volatile StatefulRedisConnection<byte[], byte[]> connection;
+
+    LettuceInvalidationSource(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public boolean start(List<String> prefixes, Listener listener) {
+
+        if (connection == null) {
+
+            if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                    || !(lettuce.getNativeClient() instanceof RedisClient client)) {
+                log.info("refresh token near cache requires a standalone Lettuce connection, disabled");
+                return false;
+            }
+
+            StatefulRedisConnection<byte[], byte[]> created = client.connect(ByteArrayCodec.INSTANCE);
+            if (!resp3(created)) {
+                created.closeAsync();
+                log.info("refresh token near cache requires a RESP3 connection (Redis 6.2 or later), disabled");
+                return false;
+            }
+
+            created.addListener(message -> {
+                if ("invalidate".equals(message.getType())) {
+                    listener.onInvalidate(keys(message.getContent(ByteArrayCodec.INSTANCE::decodeKey)));
+                }
+            });
+            registerDisconnectListener(client, created, listener);
+            connection = created;
+        }
+
+        connection.sync().clientTracking(TrackingArgs.Builder.enabled()
+                .bcast()
+                .prefixes(prefixes.toArray(new String[0]))
+                .noloop());
+
+        return true;
+    }
+
+    @Override
+    public RedisCommands<byte[], byte[]> commands() {
+
+        StatefulRedisConnection<byte[], byte[]> current = connection;
+        return current == null ? null : current.sync();
+    }
+
+    @Override
+    public void close() {
+
+        StatefulRedisConnection<byte[], byte[]> current = connection;
+        if (current != null) {
+            current.closeAsync();
+        }
+    }
+
+    // CLIENT INFO의 resp 필드 확인 (CLIENT INFO를 모르는 Redis 6.2 이전 서버도 사용하지 않음)
+    private static boolean resp3(StatefulRedisConnection<byte[], byte[]> created) {
+
+        String info;
+        try {
+            info = created.sync().clientInfo();
+        } catch (RedisCommandExecutionException e) {
+            return false;
+        }
+
+        for (String field : info.trim().split(" ")) {
+            if (field.equals("resp=3")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void registerDisconnectListener(AbstractRedisClient client, StatefulRedisConnection<byte[], byte[]> tracked,
+                                                   Listener listener) {
+
+        client.addListener(new RedisConnectionStateListener() {
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == tracked) {
+                    listener.onDisconnected();
+                }
+            }
+
+        });
+    }
+
+    // 메시지 형식 : ["invalidate", [키, ...]] (키 목록이 없으면 전체 무효화)
+    @SuppressWarnings("unchecked")
+    private static List<byte[]> keys(List<Object> content) {
+        return content.size() > 1 ? (List<byte[]>) content.get(1) : null;
+    }
+
+}
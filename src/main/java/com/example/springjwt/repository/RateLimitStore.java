@@ -0,0 +1,9 @@
+package com.example.springjwt.repository;
+
+// 클러스터 전체 요청 제한용 토큰 버킷 저장소
+public interface RateLimitStore {
+
+    // 버킷을 충전한 뒤 토큰을 최대 requested개 꺼내고 실제로 꺼낸 개수 반환 (남은 토큰이 없으면 0)
+    long acquire(String key, long capacity, double refillPerSecond, long requested);
+
+}
@@ -0,0 +1,16 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import reactor.core.publisher.Mono;
+
+// Refresh 토큰 저장소 (리액티브 모드용, RefreshTokenStore와 같은 키 형식 사용)
+public interface ReactiveRefreshTokenStore {
+
+    Mono<Void> save(String refresh, String username);  // refresh token 저장
+
+    Mono<Boolean> delete(String refresh, String username);  // refresh token 삭제 (삭제된 토큰이 있으면 true)
+
+    // RefreshTokenStore.rotate()와 동일 (거부되면 빈 Mono, 유예 시간이 지난 재사용이면 RefreshTokenReusedException 오류)
+    Mono<TokenPair> rotate(String oldRefresh, TokenPair next, String username);
+
+}
@@ -0,0 +1,47 @@
+package com.example.springjwt.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+// Redis 기반 토큰 버킷 저장소
+// Redis 저장소에 key는 rl:{limit}:{ip 또는 username} 형식의 Hash (tokens: 남은 토큰, ts: 마지막 충전 시각 ms)
+// 충전 + 꺼내기 + 저장을 스크립트 한 번(왕복 1회)으로 처리하고, 시각은 노드 시계 대신 Redis TIME 사용
+// 버킷이 가득 찰 때까지 걸리는 시간이 지나면 키가 만료됨 (가득 찬 버킷과 키가 없는 상태는 같음)
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rl:";
+
+    // KEYS: 버킷 키 / ARGV: 용량, 초당 충전량, 요청 토큰 수
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(state[1]) or capacity " +
+            "local ts = tonumber(state[2]) or now " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000) " +
+            "local granted = math.min(tonumber(ARGV[3]), math.floor(tokens)) " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens - granted), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate)) " +
+            "return granted", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long acquire(String key, long capacity, double refillPerSecond, long requested) {
+
+        Long granted = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + key),
+                String.valueOf(capacity), String.valueOf(refillPerSecond), String.valueOf(requested));
+
+        return granted == null ? 0L : granted;
+    }
+
+}
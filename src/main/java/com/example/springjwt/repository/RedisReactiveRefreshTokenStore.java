@@ -0,0 +1,76 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Repository
+// 리액티브 Redis 기반 Refresh 토큰 저장소 (이벤트 루프 스레드를 블로킹하지 않음)
+// 키 형식은 RefreshTokenKeys 참고
+public class RedisReactiveRefreshTokenStore implements ReactiveRefreshTokenStore {
+
+    private final ReactiveRedisTemplate<byte[], byte[]> redisTemplate;
+
+    // 이전 형식 키 조회 여부 (이전 형식 토큰이 모두 만료되면 false로 변경)
+    private final boolean readLegacyKeys;
+
+    // 명령별 Redis 왕복 시간 측정
+    private final AuthMetrics authMetrics;
+
+    // 회전 기록 보관 시간 (RedisRefreshTokenStore와 동일)
+    private final byte[] graceMs;
+
+    public RedisReactiveRefreshTokenStore(ReactiveRedisTemplate<byte[], byte[]> redisTemplate,
+                                          @Value("${spring.jwt.refresh-store.read-legacy-keys:true}") boolean readLegacyKeys,
+                                          AuthMetrics authMetrics,
+                                          @Value("${spring.jwt.reissue.grace-ms:10000}") long graceMs) {
+
+        this.redisTemplate = redisTemplate;
+        this.readLegacyKeys = RefreshTokenKeys.legacyKeysSupported(redisTemplate.getConnectionFactory(), readLegacyKeys);
+        this.authMetrics = authMetrics;
+        this.graceMs = String.valueOf(graceMs).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public Mono<Void> save(String refresh, String username) {
+
+        return timed("save", redisTemplate.opsForValue()
+                .set(RefreshTokenKeys.key(refresh, username), username.getBytes(StandardCharsets.UTF_8), RefreshTokenKeys.TTL)
+                .then());
+    }
+
+    @Override
+    public Mono<Boolean> delete(String refresh, String username) {
+
+        List<byte[]> keys = RefreshTokenKeys.keys(refresh, username, readLegacyKeys);
+        return timed("delete", redisTemplate.delete(keys.toArray(new byte[0][]))
+                .map(deleted -> deleted > 0));
+    }
+
+    @Override
+    public Mono<TokenPair> rotate(String oldRefresh, TokenPair next, String username) {
+
+        return timed("rotate", redisTemplate.execute(RefreshTokenKeys.ROTATE_SCRIPT,
+                        RefreshTokenKeys.rotateKeys(oldRefresh, next.getRefresh(), username, readLegacyKeys),
+                        List.of(username.getBytes(StandardCharsets.UTF_8), RefreshTokenKeys.TTL_SECONDS,
+                                RefreshTokenKeys.encodePair(next, oldRefresh), graceMs))
+                .next()
+                .mapNotNull(result -> RefreshTokenKeys.rotationResult(result, next, oldRefresh)));
+    }
+
+    // 구독 시점부터 완료(성공/실패/취소)까지의 시간 측정
+    private <T> Mono<T> timed(String operation, Mono<T> command) {
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return command.doFinally(signal -> authMetrics.recordRefreshStore(operation, System.nanoTime() - start));
+        });
+    }
+
+}
@@ -0,0 +1,259 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.RefreshSession;
+import com.example.springjwt.dto.RefreshSessionPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+// Redis 기반 세션 목록 저장소 (키 형식은 RefreshTokenKeys 참고)
+// 목록 키와 토큰 키가 같은 해시 태그를 쓰므로 Redis Cluster에서도 한 노드에서 처리 (SCAN 없이 사용자 세션만 조회)
+// 발급 시각은 노드 시계 대신 Redis TIME 사용, 생명 주기가 지난 세션은 쓰기/조회할 때 정리하고 목록 키도 마지막 쓰기 후 같은 시간에 만료
+// 목록과 토큰 키는 따로 갱신되므로, 조회할 때 토큰 키가 없는 세션(만료, 장애 중 회전 등)은 제외하고 목록에서도 제거
+// 세션 폐기는 Refresh 토큰만 삭제 (Access 토큰은 만료까지 유효, 즉시 차단이 필요하면 revoke-all)
+// 토큰 삭제는 RefreshTokenStore(@Primary, ResilientRefreshTokenStore)를 거침 (Redis 장애 중 로컬에서 발급된 토큰도 폐기되고, 삭제는 복구 후 반영)
+public class RedisRefreshSessionStore implements RefreshSessionStore {
+
+    private static final byte[] TTL_MS = String.valueOf(RefreshTokenKeys.TTL.toMillis()).getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] FIRST_PAGE = "+inf".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NO_MEMBER = new byte[0];
+
+    // 현재 시각(now)과 생명 주기가 지난 세션 정리 (호출 한 번에 최대 1000개)
+    private static final String TRIM =
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local cutoff = now - tonumber(ARGV[1]) " +
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', '(' .. cutoff, 'LIMIT', 0, 1000) " +
+            "if #expired > 0 then " +
+            "  redis.call('ZREM', KEYS[1], unpack(expired)) " +
+            "  redis.call('HDEL', KEYS[2], unpack(expired)) " +
+            "end ";
+
+    // KEYS: 목록 키, 정보 키 / ARGV: 생명 주기(ms), 세션 ID, "IP\t기기"
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            TRIM +
+            "redis.call('ZADD', KEYS[1], now, ARGV[2]) " +
+            "redis.call('HSET', KEYS[2], ARGV[2], now .. '\\t' .. ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "return 1", Long.class);
+
+    // KEYS: 목록 키, 정보 키 / ARGV: 생명 주기(ms), 기존 세션 ID, 새 세션 ID
+    // 목록에 없던 세션(기능 도입 전에 로그인한 세션)은 로그인 정보 없이 새로 추가
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>(
+            TRIM +
+            "local meta = redis.call('HGET', KEYS[2], ARGV[2]) or (now .. '\\t\\t') " +
+            "redis.call('ZREM', KEYS[1], ARGV[2]) " +
+            "redis.call('HDEL', KEYS[2], ARGV[2]) " +
+            "redis.call('ZADD', KEYS[1], now, ARGV[3]) " +
+            "redis.call('HSET', KEYS[2], ARGV[3], meta) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "return 1", Long.class);
+
+    // KEYS: 목록 키, 정보 키 / ARGV: 생명 주기(ms), 커서 발급 시각(첫 페이지는 +inf), 커서 세션 ID, 개수
+    // 결과: {세션 ID, 발급 시각, 정보} 반복
+    // 커서와 발급 시각이 같은 세션은 이전 페이지에서 받은 세션(역순이므로 ID가 커서 이상)을 건너뜀
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST_SCRIPT = new DefaultRedisScript<>(
+            TRIM +
+            "local size = tonumber(ARGV[4]) " +
+            "local out = {} " +
+            "local offset = 0 " +
+            "while #out < size * 3 do " +
+            "  local batch = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[2], cutoff, 'WITHSCORES', 'LIMIT', offset, size) " +
+            "  for i = 1, #batch, 2 do " +
+            "    local seen = ARGV[3] ~= '' and tonumber(batch[i + 1]) == tonumber(ARGV[2]) and batch[i] >= ARGV[3] " +
+            "    if not seen and #out < size * 3 then " +
+            "      out[#out + 1] = batch[i] " +
+            "      out[#out + 1] = batch[i + 1] " +
+            "      out[#out + 1] = redis.call('HGET', KEYS[2], batch[i]) or '' " +
+            "    end " +
+            "  end " +
+            "  if #batch < size * 2 then break end " +
+            "  offset = offset + size " +
+            "end " +
+            "return out", List.class);
+
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+
+    // 세션 폐기 시 토큰 삭제에 사용
+    private final RefreshTokenStore refreshTokenStore;
+
+    @Override
+    public void add(String refresh, String username, String ip, String device) {
+
+        redisTemplate.execute(ADD_SCRIPT, sessionKeys(username),
+                TTL_MS, bytes(RefreshTokenKeys.sessionId(refresh)), bytes(field(ip) + "\t" + field(device)));
+    }
+
+    @Override
+    public void replace(String oldRefresh, String newRefresh, String username) {
+
+        redisTemplate.execute(REPLACE_SCRIPT, sessionKeys(username),
+                TTL_MS, bytes(RefreshTokenKeys.sessionId(oldRefresh)), bytes(RefreshTokenKeys.sessionId(newRefresh)));
+    }
+
+    @Override
+    public void remove(String refresh, String username) {
+        removeFromIndex(username, List.of(RefreshTokenKeys.sessionId(refresh)));
+    }
+
+    @Override
+    public RefreshSessionPage list(String username, String cursor, int size) {
+
+        byte[] max = FIRST_PAGE;
+        byte[] after = NO_MEMBER;
+        if (cursor != null) {
+
+            int separator = cursor.indexOf(':');
+            String id = separator > 0 ? normalize(cursor.substring(separator + 1)) : null;
+            if (id == null || RefreshTokenKeys.sessionKey(id, username) == null) {
+                throw new IllegalArgumentException("invalid session cursor: " + cursor);
+            }
+            max = bytes(String.valueOf(Long.parseLong(cursor.substring(0, separator))));
+            after = bytes(id);
+        }
+
+        List<?> result = redisTemplate.execute(LIST_SCRIPT, sessionKeys(username),
+                TTL_MS, max, after, bytes(String.valueOf(size)));
+        if (result == null || result.isEmpty()) {
+            return new RefreshSessionPage(List.of(), null);
+        }
+
+        List<RefreshSession> candidates = new ArrayList<>(result.size() / 3);
+        for (int i = 0; i + 2 < result.size(); i += 3) {
+            candidates.add(session(string(result.get(i)), string(result.get(i + 1)), string(result.get(i + 2))));
+        }
+
+        // 토큰 키가 남아 있는 세션만 반환 (한 번의 왕복으로 확인)
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (RefreshSession session : candidates) {
+                connection.keyCommands().exists(RefreshTokenKeys.sessionKey(session.getId(), username));
+            }
+            return null;
+        });
+
+        List<RefreshSession> sessions = new ArrayList<>(candidates.size());
+        List<String> stale = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (Boolean.TRUE.equals(exists.get(i))) {
+                sessions.add(candidates.get(i));
+            } else {
+                stale.add(candidates.get(i).getId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            removeFromIndex(username, stale);
+        }
+
+        // 다음 커서는 제외된 세션까지 포함한 마지막 세션 기준
+        RefreshSession last = candidates.get(candidates.size() - 1);
+        String next = candidates.size() == size ? last.getIssuedAt() + ":" + last.getId() : null;
+
+        return new RefreshSessionPage(sessions, next);
+    }
+
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        Set<String> ids = new LinkedHashSet<>();
+        for (String sessionId : sessionIds) {
+            String id = normalize(sessionId);
+            if (id != null && RefreshTokenKeys.sessionKey(id, username) != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+
+        // 토큰 삭제 후 목록에서 제거 (토큰 삭제가 실패하면 목록은 그대로 두어 다시 폐기할 수 있게 함)
+        long revoked = refreshTokenStore.revoke(username, ids);
+        removeFromIndex(username, ids);
+
+        return revoked;
+    }
+
+    @Override
+    public void clear(String username) {
+        redisTemplate.delete(sessionKeys(username));
+    }
+
+    private void removeFromIndex(String username, Collection<String> ids) {
+
+        byte[][] members = members(ids);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRem(RefreshTokenKeys.sessionIndexKey(username), members);
+            connection.hashCommands().hDel(RefreshTokenKeys.sessionMetaKey(username), members);
+            return null;
+        });
+    }
+
+    private static List<byte[]> sessionKeys(String username) {
+        return List.of(RefreshTokenKeys.sessionIndexKey(username), RefreshTokenKeys.sessionMetaKey(username));
+    }
+
+    // 정보 값 "로그인 시각\tIP\t기기"
+    private static RefreshSession session(String id, String issuedAt, String meta) {
+
+        String[] fields = meta.split("\t", 3);
+        long issued = (long) Double.parseDouble(issuedAt);
+        long loginAt = fields.length > 0 && !fields[0].isEmpty() ? Long.parseLong(fields[0]) : issued;
+        String ip = fields.length > 1 && !fields[1].isEmpty() ? fields[1] : null;
+        String device = fields.length > 2 && !fields[2].isEmpty() ? fields[2] : null;
+
+        return new RefreshSession(id, issued, loginAt, ip, device, false);
+    }
+
+    private static byte[][] members(Collection<String> ids) {
+
+        byte[][] members = new byte[ids.size()][];
+        int i = 0;
+        for (String id : ids) {
+            members[i++] = bytes(id);
+        }
+
+        return members;
+    }
+
+    // 세션 ID는 소문자 16진수로 저장
+    private static String normalize(String sessionId) {
+        return sessionId == null ? null : sessionId.toLowerCase(Locale.ROOT);
+    }
+
+    // 구분자(탭)를 공백으로 바꾸고 길이 제한
+    private static String field(String value) {
+
+        if (value == null) {
+            return "";
+        }
+        String field = value.replace('\t', ' ');
+
+        return field.length() > 256 ? field.substring(0, 256) : field;
+    }
+
+    private static String string(Object value) {
+        return new String((byte[]) value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+// Redis 기반 Refresh 토큰 저장소
+// @RedisHash는 저장 시 해시 + 인덱스 Set + phantom 키를 함께 관리하므로, 토큰 하나당 문자열 키 하나(SET key value EX ttl)만 사용
+// 키 형식은 RefreshTokenKeys 참고
+// 토큰 상태는 근거리 캐시(RefreshTokenNearCache)에 보관하여 이미 확인된 상태는 Redis를 조회하지 않고 응답
+// 근거리 캐시가 무효화를 추적하는 동안 쓰기는 추적 연결로 보냄 (이 노드의 쓰기가 무효화 메시지로 돌아와 캐시를 지우지 않도록)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private final RedisTemplate<byte[], byte[]> redisTemplate;
+
+    // 이전 형식 키 조회 여부 (이전 형식 토큰이 모두 만료되면 false로 변경)
+    private final boolean readLegacyKeys;
+
+    // 명령별 Redis 왕복 시간 측정
+    private final AuthMetrics authMetrics;
+
+    // 회전 기록 보관 시간 (동시에 들어온 재발급 요청이 같은 토큰 쌍을 받을 수 있는 시간)
+    private final byte[] graceMs;
+
+    private final RefreshTokenNearCache nearCache;
+
+    public RedisRefreshTokenStore(RedisTemplate<byte[], byte[]> redisTemplate,
+                                  @Value("${spring.jwt.refresh-store.read-legacy-keys:true}") boolean readLegacyKeys,
+                                  AuthMetrics authMetrics,
+                                  @Value("${spring.jwt.reissue.grace-ms:10000}") long graceMs,
+                                  RefreshTokenNearCache nearCache) {
+
+        this.redisTemplate = redisTemplate;
+        this.readLegacyKeys = RefreshTokenKeys.legacyKeysSupported(redisTemplate.getConnectionFactory(), readLegacyKeys);
+        this.authMetrics = authMetrics;
+        this.graceMs = String.valueOf(graceMs).getBytes(StandardCharsets.US_ASCII);
+        this.nearCache = nearCache;
+    }
+
+    @Override
+    public void save(String refresh, String username) {
+
+        String fingerprint = RefreshTokenKeys.fingerprintKey(refresh);
+        long stamp = nearCache.stamp(fingerprint);
+        byte[] key = RefreshTokenKeys.key(refresh, username);
+        byte[] value = username.getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        try {
+            RedisCommands<byte[], byte[]> tracked = nearCache.trackedCommands();
+            if (tracked != null) {
+                tracked.setex(key, RefreshTokenKeys.TTL.toSeconds(), value);
+            } else {
+                redisTemplate.opsForValue().set(key, value, RefreshTokenKeys.TTL);
+            }
+            nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, stamp);
+        } finally {
+            authMetrics.recordRefreshStore("save", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean exists(String refresh, String username) {
+
+        String fingerprint = RefreshTokenKeys.fingerprintKey(refresh);
+        RefreshTokenNearCache.State cached = nearCache.get(fingerprint);
+        nearCache.record("exists", cached != null);
+        if (cached != null) {
+            return cached == RefreshTokenNearCache.State.LIVE;
+        }
+        long stamp = nearCache.stamp(fingerprint);
+
+        long start = System.nanoTime();
+        try {
+            Long count = redisTemplate.countExistingKeys(RefreshTokenKeys.keys(refresh, username, readLegacyKeys));
+            boolean exists = count != null && count > 0;
+            nearCache.put(fingerprint, exists ? RefreshTokenNearCache.State.LIVE : RefreshTokenNearCache.State.ABSENT, stamp);
+
+            return exists;
+        } finally {
+            authMetrics.recordRefreshStore("exists", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean delete(String refresh, String username) {
+
+        // 이미 없는 토큰이면 Redis를 거치지 않고 실패 (반복된 로그아웃 요청)
+        String fingerprint = RefreshTokenKeys.fingerprintKey(refresh);
+        RefreshTokenNearCache.State cached = nearCache.get(fingerprint);
+        boolean absent = cached != null && cached != RefreshTokenNearCache.State.LIVE;
+        nearCache.record("delete", absent);
+        if (absent) {
+            return false;
+        }
+        long stamp = nearCache.stamp(fingerprint);
+        List<byte[]> keys = RefreshTokenKeys.keys(refresh, username, readLegacyKeys);
+
+        long start = System.nanoTime();
+        try {
+            RedisCommands<byte[], byte[]> tracked = nearCache.trackedCommands();
+            Long deleted = tracked != null ? tracked.del(keys.toArray(new byte[0][])) : redisTemplate.delete(keys);
+            nearCache.put(fingerprint, RefreshTokenNearCache.State.ABSENT, stamp);
+
+            return deleted != null && deleted > 0;
+        } finally {
+            authMetrics.recordRefreshStore("delete", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+        // 저장된 적 없거나 유예 시간이 지난 재사용으로 이미 확인된 토큰이면 Redis를 거치지 않고 거부 (반복된 재발급 요청)
+        String fingerprint = RefreshTokenKeys.fingerprintKey(oldRefresh);
+        RefreshTokenNearCache.State cached = nearCache.get(fingerprint);
+        nearCache.record("rotate", cached == RefreshTokenNearCache.State.DEAD || cached == RefreshTokenNearCache.State.REUSED);
+        if (cached == RefreshTokenNearCache.State.DEAD) {
+            return null;
+        }
+        if (cached == RefreshTokenNearCache.State.REUSED) {
+            throw new RefreshTokenReusedException();
+        }
+        String nextFingerprint = RefreshTokenKeys.fingerprintKey(next.getRefresh());
+        long stamp = nearCache.stamp(fingerprint);
+        long nextStamp = nearCache.stamp(nextFingerprint);
+
+        long start = System.nanoTime();
+        try {
+            List<byte[]> keys = RefreshTokenKeys.rotateKeys(oldRefresh, next.getRefresh(), username, readLegacyKeys);
+            byte[][] args = {username.getBytes(StandardCharsets.UTF_8), RefreshTokenKeys.TTL_SECONDS,
+                    RefreshTokenKeys.encodePair(next, oldRefresh), graceMs};
+            RedisCommands<byte[], byte[]> tracked = nearCache.trackedCommands();
+            List<?> result = tracked != null
+                    ? evalRotate(tracked, keys, args)
+                    : redisTemplate.execute(RefreshTokenKeys.ROTATE_SCRIPT, keys, (Object[]) args);
+            TokenPair rotated = RefreshTokenKeys.rotationResult(result, next, oldRefresh);
+
+            // 회전 성공/유예 시간 내 재사용이면 기존 토큰은 ABSENT(회전 기록만 남음), 그 외에는 DEAD
+            nearCache.put(fingerprint, rotated == null ? RefreshTokenNearCache.State.DEAD : RefreshTokenNearCache.State.ABSENT, stamp);
+            if (rotated == next) {
+                nearCache.put(nextFingerprint, RefreshTokenNearCache.State.LIVE, nextStamp);
+            }
+
+            return rotated;
+        } catch (RefreshTokenReusedException e) {
+            nearCache.put(fingerprint, RefreshTokenNearCache.State.REUSED, stamp);
+            throw e;
+        } finally {
+            authMetrics.recordRefreshStore("rotate", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        List<byte[]> keys = new ArrayList<>(sessionIds.size());
+        List<String> fingerprints = new ArrayList<>(sessionIds.size());
+        long[] stamps = new long[sessionIds.size()];
+        for (String sessionId : sessionIds) {
+
+            byte[] key = RefreshTokenKeys.sessionKey(sessionId, username);
+            if (key == null) {
+                continue;
+            }
+            String fingerprint = RefreshTokenKeys.fingerprintKey(key);
+            stamps[keys.size()] = nearCache.stamp(fingerprint);
+            keys.add(key);
+            fingerprints.add(fingerprint);
+        }
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+
+        // 모든 키가 같은 해시 태그이므로 DEL 한 번으로 삭제 (Redis Cluster에서도 한 노드)
+        long start = System.nanoTime();
+        try {
+            RedisCommands<byte[], byte[]> tracked = nearCache.trackedCommands();
+            Long deleted = tracked != null ? tracked.del(keys.toArray(new byte[0][])) : redisTemplate.delete(keys);
+            for (int i = 0; i < fingerprints.size(); i++) {
+                nearCache.put(fingerprints.get(i), RefreshTokenNearCache.State.ABSENT, stamps[i]);
+            }
+
+            return deleted == null ? 0L : deleted;
+        } finally {
+            authMetrics.recordRefreshStore("revoke", System.nanoTime() - start);
+        }
+    }
+
+    // 추적 연결로 재발급 스크립트 실행 (스크립트 캐시에 없으면 EVAL로 한 번 더 실행, RedisTemplate과 동일)
+    private static List<?> evalRotate(RedisCommands<byte[], byte[]> tracked, List<byte[]> keys, byte[][] args) {
+
+        byte[][] keyArray = keys.toArray(new byte[0][]);
+        try {
+            return tracked.evalsha(RefreshTokenKeys.ROTATE_SCRIPT.getSha1(), ScriptOutputType.MULTI, keyArray, args);
+        } catch (RedisNoScriptException e) {
+            return tracked.eval(RefreshTokenKeys.ROTATE_SCRIPT.getScriptAsString(), ScriptOutputType.MULTI, keyArray, args);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.springjwt.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+// Redis 기반 토큰 세대 번호 저장소
+// Redis 저장소에 key는 gen:{username} 형식, 세대 번호를 올린 적이 있는 사용자만 키가 존재
+public class RedisTokenGenerationStore implements TokenGenerationStore {
+
+    private static final String KEY_PREFIX = "gen:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long get(String username) {
+
+        String generation = redisTemplate.opsForValue().get(KEY_PREFIX + username);
+        return generation == null ? 0L : Long.parseLong(generation);
+    }
+
+    @Override
+    public long increment(String username) {
+
+        Long generation = redisTemplate.opsForValue().increment(KEY_PREFIX + username);
+        return generation == null ? 0L : generation;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.RefreshSessionPage;
+
+import java.util.Collection;
+
+// 사용자별 로그인 세션 목록 저장소 (어떤 기기에서 로그인되어 있는지 조회, 일부 기기만 로그아웃)
+// 세션은 Refresh 토큰 하나에 대응하며 발급 시각 순으로 정렬, Refresh 토큰 생명 주기가 지난 세션은 목록에서 제거
+// 페이지 커서는 "{발급 시각}:{세션 ID}" (세션이 추가/삭제되어도 이미 받은 세션이 다시 나오지 않음)
+public interface RefreshSessionStore {
+
+    void add(String refresh, String username, String ip, String device);  // 로그인
+
+    void replace(String oldRefresh, String newRefresh, String username);  // 재발급 (로그인 정보는 새 세션 ID로 옮김)
+
+    void remove(String refresh, String username);  // 로그아웃
+
+    // 발급 시각 역순으로 size개 (cursor가 null이면 첫 페이지, 형식이 잘못되었으면 IllegalArgumentException)
+    RefreshSessionPage list(String username, String cursor, int size);
+
+    // 세션의 Refresh 토큰 삭제 후 목록에서 제거, 삭제된 토큰 수 반환
+    long revoke(String username, Collection<String> sessionIds);
+
+    void clear(String username);  // 목록 전체 삭제
+
+    // Refresh 토큰의 세션 ID
+    static String sessionId(String refresh) {
+        return RefreshTokenKeys.sessionId(refresh);
+    }
+
+}
@@ -0,0 +1,331 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+@Slf4j
+// Refresh 토큰 Redis 키 형식 (블로킹/리액티브 저장소가 같은 형식을 사용)
+// 토큰 원문(수백 바이트) 대신 SHA-256 앞 16바이트(지문)를 키로 사용 → key는 rt:{username}:{16바이트 지문}, value는 username
+// 회전 기록은 rtr:{username}:{기존 토큰 지문} → 암호화된 "새 Access 새 Refresh" (유예 시간 동안만 보관)
+// (기존 토큰에서 유도한 키로 AES-GCM 암호화 : Redis 데이터만으로는 토큰 쌍을 꺼낼 수 없고, 기존 토큰을 가진 요청만 복호화)
+// 재사용 표시는 rtd:{username}:{기존 토큰 지문} (회전 후 Refresh 토큰 생명 주기 동안 보관, 유예 시간이 지난 재사용 판별용)
+// {username}은 Redis Cluster 해시 태그 : 한 사용자의 키는 모두 같은 슬롯에 있으므로 재발급 스크립트처럼 여러 키를 다루는 명령도
+// 클러스터에서 그대로 실행되고(CROSSSLOT 없음), 사용자별로 노드에 고르게 분산됨 (모든 요청이 거치는 전역 인덱스 키 없음)
+// 근거리 캐시 확인용 키는 rt:probe:{노드 ID} (rt: 접두사 무효화 추적이 동작하는지 주기적으로 확인)
+// 사용자별 세션 목록은 rts:{username} (Sorted Set, 세션 ID → 발급 시각) + rtm:{username} (Hash, 세션 ID → 로그인 시각/IP/기기)
+// 세션 ID는 지문의 16진수 표기 (토큰 키와 같은 해시 태그이므로 목록과 토큰 키를 한 번에 다룰 수 있음)
+final class RefreshTokenKeys {
+
+    private static final byte[] KEY_PREFIX = "rt:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ROTATION_KEY_PREFIX = "rtr:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] TOMBSTONE_KEY_PREFIX = "rtd:".getBytes(StandardCharsets.US_ASCII);
+
+    // 회전 기록 암호화 키 유도용 접두사 (지문과 다른 해시 입력)
+    private static final byte[] ROTATION_CIPHER_CONTEXT = "rtr-key:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int IV_BYTES = 12;
+
+    private static final int TAG_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    static final String PROBE_KEY_PREFIX = "rt:probe:";
+
+    private static final byte[] SESSION_INDEX_PREFIX = "rts:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SESSION_META_PREFIX = "rtm:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    // 이전 형식 키 (refresh:{refresh token}, 해시 태그 없는 rt:{지문}), 마이그레이션 기간 동안에만 함께 조회
+    // 다른 슬롯에 있으므로 Redis Cluster에서는 조회하지 않음
+    private static final String LEGACY_KEY_PREFIX = "refresh:";
+
+    // 지문 길이 (128비트, 충돌 확률 무시 가능)
+    private static final int FINGERPRINT_BYTES = 16;
+
+    // Refresh 토큰 생명 주기와 동일 (24시간)
+    static final Duration TTL = Duration.ofDays(1);
+
+    static final byte[] TTL_SECONDS = String.valueOf(TTL.toSeconds()).getBytes(StandardCharsets.US_ASCII);
+
+    // KEYS: 기존 키들(지문 키, 이전 형식 키), 회전 기록 키, 재사용 표시 키, 새 키
+    // ARGV: username, TTL(초), 암호화된 새 토큰 쌍, 유예 시간(ms)
+    // 기존 키 삭제에 성공한 요청만 새 토큰을 저장하고 회전 기록과 재사용 표시를 남김 → {1}
+    // 이미 회전된 토큰이면 유예 시간 안에는 먼저 회전한 요청(다른 노드 포함)의 토큰 쌍을 반환 → {2, 토큰 쌍}
+    // 유예 시간이 지난 재사용이면 → {3}
+    // 저장된 적 없거나 만료/삭제된 토큰이면 → {0}
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS " +
+            "if redis.call('DEL', unpack(KEYS, 1, n - 3)) > 0 then " +
+            "  redis.call('SET', KEYS[n], ARGV[1], 'EX', ARGV[2]) " +
+            "  redis.call('SET', KEYS[n - 2], ARGV[3], 'PX', ARGV[4]) " +
+            "  redis.call('SET', KEYS[n - 1], '1', 'EX', ARGV[2]) " +
+            "  return {1} " +
+            "end " +
+            "local pair = redis.call('GET', KEYS[n - 2]) " +
+            "if pair then " +
+            "  return {2, pair} " +
+            "end " +
+            "if redis.call('EXISTS', KEYS[n - 1]) == 1 then " +
+            "  return {3} " +
+            "end " +
+            "return {0}", List.class);
+
+    private RefreshTokenKeys() {
+    }
+
+    static byte[] key(String refresh, String username) {
+        return taggedKey(KEY_PREFIX, username, fingerprint(refresh));
+    }
+
+    // 세션 ID에 해당하는 토큰 키 (형식이 잘못된 ID면 null)
+    static byte[] sessionKey(String sessionId, String username) {
+
+        if (sessionId == null || sessionId.length() != FINGERPRINT_BYTES * 2 || !HEX.isHexDigits(sessionId)) {
+            return null;
+        }
+
+        return taggedKey(KEY_PREFIX, username, HEX.parseHex(sessionId));
+    }
+
+    static String sessionId(String refresh) {
+        return HEX.formatHex(fingerprint(refresh), 0, FINGERPRINT_BYTES);
+    }
+
+    static byte[] sessionIndexKey(String username) {
+        return userKey(SESSION_INDEX_PREFIX, username);
+    }
+
+    static byte[] sessionMetaKey(String username) {
+        return userKey(SESSION_META_PREFIX, username);
+    }
+
+    // 토큰에 해당하는 기존 키 목록 (지문 키 + 마이그레이션 기간에는 이전 형식 키)
+    static List<byte[]> keys(String refresh, String username, boolean readLegacyKeys) {
+
+        List<byte[]> keys = new ArrayList<>(5);
+        keys.add(key(refresh, username));
+        if (readLegacyKeys) {
+            keys.add(ByteBuffer.allocate(KEY_PREFIX.length + FINGERPRINT_BYTES)
+                    .put(KEY_PREFIX)
+                    .put(fingerprint(refresh), 0, FINGERPRINT_BYTES)
+                    .array());
+            keys.add((LEGACY_KEY_PREFIX + refresh).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return keys;
+    }
+
+    // 재발급 스크립트의 키 목록 (기존 키들 + 회전 기록 키 + 재사용 표시 키 + 새 키, 모두 같은 해시 태그)
+    static List<byte[]> rotateKeys(String oldRefresh, String newRefresh, String username, boolean readLegacyKeys) {
+
+        byte[] fingerprint = fingerprint(oldRefresh);
+        List<byte[]> keys = keys(oldRefresh, username, readLegacyKeys);
+        keys.add(taggedKey(ROTATION_KEY_PREFIX, username, fingerprint));
+        keys.add(taggedKey(TOMBSTONE_KEY_PREFIX, username, fingerprint));
+        keys.add(key(newRefresh, username));
+
+        return keys;
+    }
+
+    // {prefix}{username}:{지문}
+    private static byte[] taggedKey(byte[] prefix, String username, byte[] fingerprint) {
+
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(prefix.length + user.length + 3 + FINGERPRINT_BYTES)
+                .put(prefix)
+                .put((byte) '{')
+                .put(user)
+                .put((byte) '}')
+                .put((byte) ':')
+                .put(fingerprint, 0, FINGERPRINT_BYTES)
+                .array();
+    }
+
+    // {prefix}{username}
+    private static byte[] userKey(byte[] prefix, String username) {
+
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(prefix.length + user.length + 2)
+                .put(prefix)
+                .put((byte) '{')
+                .put(user)
+                .put((byte) '}')
+                .array();
+    }
+
+    // 이전 형식 키 조회 가능 여부 (Redis Cluster에서는 이전 형식 키가 다른 슬롯에 있어 여러 키 명령이 CROSSSLOT으로 실패하므로 끔)
+    static boolean legacyKeysSupported(Object connectionFactory, boolean readLegacyKeys) {
+
+        if (readLegacyKeys && connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.isClusterAware()) {
+            log.warn("spring.jwt.refresh-store.read-legacy-keys is ignored on Redis Cluster (legacy keys are not hash-tagged)");
+            return false;
+        }
+
+        return readLegacyKeys;
+    }
+
+    // 근거리 캐시(RefreshTokenNearCache) 키 : 토큰 지문 16바이트 (rt:, rtr: 키가 같은 지문을 공유)
+    static String fingerprintKey(String refresh) {
+        return new String(fingerprint(refresh), 0, FINGERPRINT_BYTES, StandardCharsets.ISO_8859_1);
+    }
+
+    // 무효화 메시지로 받은 Redis 키를 근거리 캐시 키로 변환 (토큰 키가 아니면 null)
+    static String fingerprintKey(byte[] redisKey) {
+
+        if (isTaggedKey(redisKey, KEY_PREFIX) || isTaggedKey(redisKey, ROTATION_KEY_PREFIX)) {
+            return new String(redisKey, redisKey.length - FINGERPRINT_BYTES, FINGERPRINT_BYTES, StandardCharsets.ISO_8859_1);
+        }
+        if (startsWith(redisKey, KEY_PREFIX) && redisKey.length == KEY_PREFIX.length + FINGERPRINT_BYTES) {
+            return new String(redisKey, KEY_PREFIX.length, FINGERPRINT_BYTES, StandardCharsets.ISO_8859_1);
+        }
+        String key = new String(redisKey, StandardCharsets.UTF_8);
+        if (key.startsWith(LEGACY_KEY_PREFIX)) {
+            return fingerprintKey(key.substring(LEGACY_KEY_PREFIX.length()));
+        }
+
+        return null;
+    }
+
+    // 무효화 추적 대상 키 접두사 (근거리 캐시 사용 시 BCAST 모드로 구독)
+    static List<String> trackingPrefixes(boolean readLegacyKeys) {
+
+        List<String> prefixes = new ArrayList<>(3);
+        prefixes.add(new String(KEY_PREFIX, StandardCharsets.US_ASCII));
+        prefixes.add(new String(ROTATION_KEY_PREFIX, StandardCharsets.US_ASCII));
+        if (readLegacyKeys) {
+            prefixes.add(LEGACY_KEY_PREFIX);
+        }
+
+        return prefixes;
+    }
+
+    // {prefix}{username}:{지문} 형식인지 확인 (지문 바로 앞이 "}:")
+    private static boolean isTaggedKey(byte[] redisKey, byte[] prefix) {
+
+        int tagEnd = redisKey.length - FINGERPRINT_BYTES - 2;
+        return startsWith(redisKey, prefix)
+                && redisKey.length > prefix.length + 3 + FINGERPRINT_BYTES
+                && redisKey[prefix.length] == '{'
+                && redisKey[tagEnd] == '}'
+                && redisKey[tagEnd + 1] == ':';
+    }
+
+    private static boolean startsWith(byte[] value, byte[] prefix) {
+
+        if (value.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (value[i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // 회전 기록 값 : IV(12) + AES-GCM("새 Access 새 Refresh"), 토큰에는 공백이 없으므로 공백으로 구분
+    static byte[] encodePair(TokenPair pair, String oldRefresh) {
+
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        try {
+            byte[] plain = (pair.getAccess() + " " + pair.getRefresh()).getBytes(StandardCharsets.US_ASCII);
+            byte[] encrypted = rotationCipher(Cipher.ENCRYPT_MODE, oldRefresh, iv).doFinal(plain);
+
+            return ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 재발급 스크립트 결과 해석 (이 요청이 회전했으면 next, 먼저 회전한 요청이 있으면 그 토큰 쌍, 거부되면 null)
+    // 유예 시간이 지난 재사용이면 RefreshTokenReusedException
+    static TokenPair rotationResult(List<?> result, TokenPair next, String oldRefresh) {
+
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+
+        long status = ((Number) result.get(0)).longValue();
+        if (status == 1L) {
+            return next;
+        }
+        if (status == 2L) {
+            return decodePair((byte[]) result.get(1), oldRefresh);
+        }
+        if (status == 3L) {
+            throw new RefreshTokenReusedException();
+        }
+
+        return null;
+    }
+
+    // 복호화에 실패하면(이전 형식의 평문 기록 등) null → 회전 실패로 처리
+    private static TokenPair decodePair(byte[] value, String oldRefresh) {
+
+        if (value.length <= IV_BYTES) {
+            return null;
+        }
+        try {
+            byte[] plain = rotationCipher(Cipher.DECRYPT_MODE, oldRefresh, Arrays.copyOf(value, IV_BYTES))
+                    .doFinal(value, IV_BYTES, value.length - IV_BYTES);
+            String pair = new String(plain, StandardCharsets.US_ASCII);
+            int separator = pair.indexOf(' ');
+
+            return new TokenPair(pair.substring(0, separator), pair.substring(separator + 1));
+        } catch (AEADBadTagException e) {
+            log.warn("failed to decrypt refresh token rotation record");
+            return null;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 기존 토큰에서 유도한 AES-256 키 (SHA-256("rtr-key:" + 기존 토큰), 키 이름의 지문과는 다른 값)
+    private static Cipher rotationCipher(int mode, String oldRefresh, byte[] iv) throws GeneralSecurityException {
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(ROTATION_CIPHER_CONTEXT);
+        byte[] key = digest.digest(oldRefresh.getBytes(StandardCharsets.US_ASCII));
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_BITS, iv));
+
+        return cipher;
+    }
+
+    private static byte[] fingerprint(String refresh) {
+
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(refresh.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+@Component
+// Refresh 토큰 상태 근거리 캐시 (노드 로컬, RedisRefreshTokenStore가 사용)
+// Redis 서버 지원 클라이언트 측 캐싱(RESP3 CLIENT TRACKING, BCAST 모드)으로 rt:, rtr: 키가 변경되면 Redis가 무효화 메시지를 보내고,
+// 다른 노드의 회전/로그아웃으로 바뀐 토큰은 메시지를 받는 즉시 캐시에서 제거됨
+// NOLOOP은 추적을 켠 연결 자신의 쓰기에만 적용되므로, 추적 중에는 RedisRefreshTokenStore의 쓰기(저장/삭제/회전/세션 폐기)도 추적 연결로 보냄
+// (RedisTemplate의 다른 연결로 쓰면 이 노드의 쓰기도 무효화 메시지로 돌아와 방금 저장한 상태를 지움)
+// 상태
+//   - LIVE   : rt 키 존재 (exists() 메모리에서 응답)
+//   - ABSENT : rt 키 없음 (회전 기록 rtr은 있을 수 있음 → delete()/exists()는 메모리에서 응답, rotate()는 Redis 확인)
+//   - DEAD   : rt, rtr, rtd 키 모두 없음 (저장된 적 없거나 만료/삭제된 토큰 → rotate()/delete() 모두 메모리에서 거부)
+//   - REUSED : rt, rtr 키 없고 rtd 키만 있음 (유예 시간이 지난 재사용 → rotate()는 메모리에서 재사용으로 거부)
+// 무효화 메시지와 Redis 응답의 경쟁은 지문별 구간(stripe)의 무효화 횟수(stamp)로 막음
+// (Redis 호출 전 stamp를 읽고, 호출 후 stamp가 바뀌지 않았을 때만 저장)
+// 무효화 추적 연결이 끊기면 캐시를 비우고 재연결 후 추적을 다시 켤 때까지 사용하지 않음
+// 서버나 연결 방식이 추적을 지원하지 않으면(RESP3 아님, 클러스터 등) 시작 시 한 번 확인하고 로그를 남긴 뒤 사용하지 않음
+// 추적 지연 시간은 probe-ms마다 다른 연결로 확인용 키를 쓰고 무효화 메시지를 받기까지의 시간으로 측정
+// 실제 적중률은 auth.refresh.near_cache.requests (operation별 result: hit=Redis 호출 없이 응답, miss=Redis 호출, bypass=추적 꺼짐)
+// (Caffeine 통계의 적중은 rotate()가 ABSENT를 읽고도 Redis를 호출하는 경우를 포함하므로 적중률로 쓰지 않음)
+public class RefreshTokenNearCache implements InvalidationSource.Listener {
+
+    enum State {
+        LIVE, ABSENT, DEAD, REUSED
+    }
+
+    private static final int STRIPES = 1024;
+
+    private final InvalidationSource invalidationSource;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final boolean enabled;
+
+    private final List<String> prefixes;
+
+    // 지문 → 상태
+    private final Cache<String, State> states;
+
+    // 구간별 무효화 횟수
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    private final String probeKey = RefreshTokenKeys.PROBE_KEY_PREFIX + UUID.randomUUID();
+    private final AtomicLong probeSentAt = new AtomicLong();
+
+    private final Counter invalidations;
+    private final Timer invalidationLag;
+
+    // {operation}:{result} → Counter
+    private final Map<String, Counter> requests = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+
+    // 무효화 추적이 켜져 있는 동안만 true
+    private volatile boolean tracking;
+
+    // 추적을 지원하지 않는 서버/연결 방식이면 true (이후 추적을 다시 시도하지 않음)
+    private volatile boolean unsupported;
+
+    // 추적 켜기 실패 로그는 연속 실패 중 처음 한 번만 남김 (probe()를 실행하는 스케줄러 스레드에서만 사용)
+    private boolean startFailed;
+
+    @Autowired
+    public RefreshTokenNearCache(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate, AuthMetrics authMetrics,
+                                 @Value("${spring.jwt.refresh-store.near-cache.enabled:true}") boolean enabled,
+                                 @Value("${spring.jwt.refresh-store.near-cache.max-size:100000}") long maxSize,
+                                 @Value("${spring.jwt.refresh-store.read-legacy-keys:true}") boolean readLegacyKeys) {
+        this(new LettuceInvalidationSource(connectionFactory), redisTemplate, authMetrics, enabled, maxSize, readLegacyKeys);
+    }
+
+    RefreshTokenNearCache(InvalidationSource invalidationSource, StringRedisTemplate redisTemplate, AuthMetrics authMetrics,
+                          boolean enabled, long maxSize, boolean readLegacyKeys) {
+
+        this.invalidationSource = invalidationSource;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.prefixes = RefreshTokenKeys.trackingPrefixes(readLegacyKeys);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(RefreshTokenKeys.TTL)
+                .recordStats()
+                .build();
+
+        this.registry = authMetrics.getRegistry();
+        this.invalidations = Counter.builder("auth.refresh.near_cache.invalidations")
+                .description("Redis에서 받은 Refresh 토큰 키 무효화 메시지 수")
+                .register(authMetrics.getRegistry());
+        this.invalidationLag = Timer.builder("auth.refresh.near_cache.invalidation.lag")
+                .description("다른 연결의 쓰기부터 무효화 메시지 수신까지의 시간 (확인용 키로 측정)")
+                .register(authMetrics.getRegistry());
+        Gauge.builder("auth.refresh.near_cache.tracking", this, nearCache -> nearCache.tracking ? 1 : 0)
+                .description("무효화 추적 사용 여부 (0이면 근거리 캐시를 거치지 않고 Redis 조회)")
+                .register(authMetrics.getRegistry());
+        CaffeineCacheMetrics.monitor(authMetrics.getRegistry(), states, "refreshNearCache");
+    }
+
+    // 캐시된 상태 (추적이 꺼져 있거나 없으면 null)
+    State get(String fingerprint) {
+        return tracking ? states.getIfPresent(fingerprint) : null;
+    }
+
+    // 추적 연결의 명령 (추적 중이 아니면 null → RedisTemplate 사용)
+    // 이 연결로 보낸 쓰기는 NOLOOP으로 무효화 메시지가 돌아오지 않음
+    RedisCommands<byte[], byte[]> trackedCommands() {
+        return tracking ? invalidationSource.commands() : null;
+    }
+
+    // 저장소 호출 결과 기록 (hit : 캐시 상태로 응답, miss : Redis 호출)
+    void record(String operation, boolean hit) {
+
+        String result = !tracking ? "bypass" : hit ? "hit" : "miss";
+        requests.computeIfAbsent(operation + ":" + result, key -> Counter.builder("auth.refresh.near_cache.requests")
+                        .description("근거리 캐시를 거친 Refresh 토큰 저장소 호출 수")
+                        .tag("operation", operation)
+                        .tag("result", result)
+                        .register(registry))
+                .increment();
+    }
+
+    // Redis 호출 전에 읽어 두고 put()에 전달
+    long stamp(String fingerprint) {
+        return stamps.get(stripe(fingerprint));
+    }
+
+    // Redis 응답으로 확인한 상태 저장 (그 사이에 무효화 메시지를 받았으면 저장하지 않음)
+    void put(String fingerprint, State state, long stamp) {
+
+        if (!tracking) {
+            return;
+        }
+
+        int stripe = stripe(fingerprint);
+        if (stamps.get(stripe) != stamp) {
+            return;
+        }
+        states.put(fingerprint, state);
+
+        // 저장하는 동안 무효화 메시지를 받았으면 되돌림
+        if (stamps.get(stripe) != stamp) {
+            states.invalidate(fingerprint);
+        }
+    }
+
+    // 확인용 키 쓰기 + 추적 켜기 (애플리케이션 시작 직후 첫 실행에서 켜고, 연결이 끊겼다가 복구되면 다시 켬)
+    @Scheduled(fixedDelayString = "${spring.jwt.refresh-store.near-cache.probe-ms:10000}")
+    public void probe() {
+
+        if (!enabled || unsupported) {
+            return;
+        }
+        if (!tracking) {
+            startTracking();
+            return;
+        }
+
+        try {
+            probeSentAt.set(System.nanoTime());
+            redisTemplate.opsForValue().set(probeKey, "1", Duration.ofMinutes(1));
+        } catch (RuntimeException e) {
+            log.debug("failed to write near cache probe key", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+
+        tracking = false;
+        invalidationSource.close();
+    }
+
+    // 끊긴 동안의 무효화 메시지는 받을 수 없으므로 캐시를 비우고 재연결 후 probe()에서 추적을 다시 켬
+    // (끊기기 전에 읽은 stamp로는 다시 켠 뒤에도 저장하지 못하도록 모든 구간의 stamp를 올림)
+    @Override
+    public void onDisconnected() {
+
+        tracking = false;
+        invalidateAll();
+    }
+
+    @Override
+    public void onInvalidate(List<byte[]> keys) {
+
+        if (keys == null) {
+            invalidateAll();
+            return;
+        }
+
+        for (byte[] key : keys) {
+
+            invalidations.increment();
+
+            String fingerprint = RefreshTokenKeys.fingerprintKey(key);
+            if (fingerprint != null) {
+                stamps.incrementAndGet(stripe(fingerprint));
+                states.invalidate(fingerprint);
+            } else if (probeKey.equals(new String(key, StandardCharsets.UTF_8))) {
+                long sentAt = probeSentAt.getAndSet(0L);
+                if (sentAt != 0L) {
+                    invalidationLag.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    // probe()(스케줄러 스레드 하나)에서만 호출
+    private void startTracking() {
+
+        try {
+            if (!invalidationSource.start(prefixes, this)) {
+                unsupported = true;
+                return;
+            }
+            tracking = true;
+            startFailed = false;
+        } catch (RuntimeException e) {
+            if (!startFailed) {
+                startFailed = true;
+                log.warn("failed to enable redis client tracking for refresh token near cache, retrying every probe", e);
+            } else {
+                log.debug("failed to enable redis client tracking for refresh token near cache", e);
+            }
+        }
+    }
+
+    private void invalidateAll() {
+
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        states.invalidateAll();
+    }
+
+    static int stripe(String fingerprint) {
+        return (fingerprint.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.springjwt.repository;
+
+// 유예 시간이 지난 뒤 이미 회전된 Refresh 토큰이 다시 사용된 경우 발생 (회전 기록은 만료되었고 재사용 표시 rtd만 남음)
+// 저장된 적 없는 토큰(rotate()가 null 반환)과 구분하여 재사용(outcome=reuse)으로 집계
+public class RefreshTokenReusedException extends RuntimeException {
+
+    public RefreshTokenReusedException() {
+        super("refresh token reused after rotation");
+    }
+
+}
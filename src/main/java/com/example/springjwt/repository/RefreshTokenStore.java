@@ -0,0 +1,26 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+
+import java.util.Collection;
+
+// Refresh 토큰 저장소
+// 토큰 하나당 키 하나(TTL 포함)만 사용하며, 재발급 시 확인/삭제/저장을 한 번에 처리
+// 키는 username으로 묶이므로(Redis Cluster 해시 태그) 모든 메서드에 토큰의 username을 함께 전달
+public interface RefreshTokenStore {
+
+    void save(String refresh, String username);  // refresh token 저장
+
+    boolean exists(String refresh, String username);  // refresh token 존재 여부 확인
+
+    boolean delete(String refresh, String username);  // refresh token 삭제 (삭제된 토큰이 있으면 true)
+
+    // 기존 refresh token이 있으면 삭제 후 새 토큰 저장하고 next 반환 (원자적으로 처리)
+    // 이미 다른 요청이 회전한 토큰이면 유예 시간 안에는 그 요청이 발급한 토큰 쌍 반환,
+    // 유예 시간이 지났으면 RefreshTokenReusedException, 저장된 적 없거나 만료/삭제된 토큰이면 null
+    TokenPair rotate(String oldRefresh, TokenPair next, String username);
+
+    // 세션 ID(RefreshSessionStore.sessionId)에 해당하는 토큰 삭제, 삭제된 토큰 수 반환 (세션 목록에서 일부 기기 로그아웃)
+    long revoke(String username, Collection<String> sessionIds);
+
+}
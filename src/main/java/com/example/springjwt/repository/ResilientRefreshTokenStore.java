@@ -0,0 +1,308 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+@Slf4j
+@Primary
+@Repository
+// Redis 장애에 대비한 Refresh 토큰 저장소 (LoginFilter, ReissueController, CustomLogoutFilter, 세션 폐기는 이 저장소를 사용)
+// 모든 호출은 서킷 브레이커를 거치며, Redis가 느려지거나 실패하면 브레이커가 열려 요청 스레드가 Redis를 기다리지 않음
+// (개별 명령의 대기 시간은 spring.data.redis.timeout으로 제한)
+// 대체 모드(fallback.enabled=true)에서는 브레이커가 열린 동안 노드 로컬 저장소에서 처리하고, 변경 사항을 대기열에 쌓아 두었다가
+// Redis가 복구되면 순서대로 반영 (write-behind)
+//   - 로컬 저장소에 없는 토큰(장애 전에 발급된 토큰)은 trust-unknown 설정에 따라 허용/거부
+//   - 로컬에서 삭제/회전/폐기된 토큰은 Redis 반영 후에도 만료 전까지 거부 (복구 직후 반영 전 재사용 방지)
+//   - 로컬 저장소는 세션 ID(토큰 지문)로 관리 (세션 목록의 폐기 요청은 토큰 대신 세션 ID만 전달)
+// 대체 모드를 끄면 브레이커가 열린 동안 DataAccessResourceFailureException으로 바로 실패
+public class ResilientRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenStore delegate;
+
+    private final AuthMetrics authMetrics;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final boolean fallbackEnabled;
+
+    private final boolean trustUnknown;
+
+    // 장애 중에 저장된 토큰 (세션 ID → username, Redis 반영이 끝나면 비움)
+    private final Cache<String, String> localTokens;
+
+    // 장애 중에 삭제/회전/폐기된 토큰의 세션 ID
+    private final Cache<String, Boolean> localRevoked;
+
+    // Redis에 반영할 변경 사항 (가득 차면 가장 오래된 항목부터 버림)
+    private final BlockingQueue<PendingWrite> pendingWrites;
+
+    public ResilientRefreshTokenStore(@Qualifier("redisRefreshTokenStore") RefreshTokenStore delegate,
+                                      AuthMetrics authMetrics,
+                                      @Value("${spring.jwt.refresh-store.circuit.window:50}") int window,
+                                      @Value("${spring.jwt.refresh-store.circuit.minimum-calls:20}") int minimumCalls,
+                                      @Value("${spring.jwt.refresh-store.circuit.failure-rate:0.5}") double failureRate,
+                                      @Value("${spring.jwt.refresh-store.circuit.slow-call-ms:100}") long slowCallMs,
+                                      @Value("${spring.jwt.refresh-store.circuit.open-ms:5000}") long openMs,
+                                      @Value("${spring.jwt.refresh-store.fallback.enabled:true}") boolean fallbackEnabled,
+                                      @Value("${spring.jwt.refresh-store.fallback.trust-unknown:false}") boolean trustUnknown,
+                                      @Value("${spring.jwt.refresh-store.fallback.max-size:100000}") int maxSize) {
+
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+        this.circuitBreaker = new CircuitBreaker(window, minimumCalls, failureRate,
+                Duration.ofMillis(slowCallMs).toNanos(), Duration.ofMillis(openMs).toNanos());
+        this.fallbackEnabled = fallbackEnabled;
+        this.trustUnknown = trustUnknown;
+        this.localTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(RefreshTokenKeys.TTL)
+                .build();
+        this.localRevoked = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(RefreshTokenKeys.TTL)
+                .build();
+        this.pendingWrites = new LinkedBlockingQueue<>(maxSize);
+
+        Gauge.builder("auth.refresh.store.circuit", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Refresh 토큰 저장소 서킷 브레이커 상태 (0: closed, 1: open, 2: half-open)")
+                .register(authMetrics.getRegistry());
+        Gauge.builder("auth.refresh.store.pending", pendingWrites, BlockingQueue::size)
+                .description("Redis 반영을 기다리는 변경 사항 수")
+                .register(authMetrics.getRegistry());
+    }
+
+    @Override
+    public void save(String refresh, String username) {
+
+        call("save", () -> {
+            delegate.save(refresh, username);
+            return null;
+        }, () -> {
+            localTokens.put(RefreshTokenKeys.sessionId(refresh), username);
+            enqueue(new PendingWrite(null, refresh, username));
+            return null;
+        });
+    }
+
+    @Override
+    public boolean exists(String refresh, String username) {
+
+        String sessionId = RefreshTokenKeys.sessionId(refresh);
+        if (localRevoked.getIfPresent(sessionId) != null) {
+            return false;
+        }
+        if (localTokens.getIfPresent(sessionId) != null) {
+            return true;
+        }
+
+        return call("exists", () -> delegate.exists(refresh, username), () -> trustUnknown);
+    }
+
+    @Override
+    public boolean delete(String refresh, String username) {
+
+        String sessionId = RefreshTokenKeys.sessionId(refresh);
+        if (localRevoked.getIfPresent(sessionId) != null) {
+            return false;
+        }
+
+        // 장애 중에 로컬에서 발급되어 아직 Redis에 반영되지 않은 토큰은 로컬에서 삭제 (반영 대기 중인 저장 이후에 삭제가 반영됨)
+        if (localTokens.getIfPresent(sessionId) != null) {
+            return deleteLocally(refresh, username, true);
+        }
+
+        return call("delete", () -> delegate.delete(refresh, username), () -> deleteLocally(refresh, username, trustUnknown));
+    }
+
+    @Override
+    public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+        String sessionId = RefreshTokenKeys.sessionId(oldRefresh);
+        if (localRevoked.getIfPresent(sessionId) != null) {
+            return null;
+        }
+
+        // 장애 중에 로컬에서 발급되어 아직 Redis에 반영되지 않은 토큰은 로컬에서 회전
+        if (localTokens.getIfPresent(sessionId) != null) {
+            return rotateLocally(oldRefresh, next, username);
+        }
+
+        return call("rotate", () -> delegate.rotate(oldRefresh, next, username),
+                () -> trustUnknown ? rotateLocally(oldRefresh, next, username) : null);
+    }
+
+    @Override
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        long revoked = 0L;
+        List<String> remote = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+
+            if (localRevoked.getIfPresent(sessionId) != null) {
+                continue;
+            }
+            // 장애 중에 로컬에서 발급되어 아직 Redis에 반영되지 않은 토큰은 로컬에서 폐기 (delete와 같음)
+            if (localTokens.getIfPresent(sessionId) != null) {
+                revokeLocally(sessionId, username);
+                revoked++;
+            } else {
+                remote.add(sessionId);
+            }
+        }
+        if (remote.isEmpty()) {
+            return revoked;
+        }
+
+        return revoked + call("revoke", () -> delegate.revoke(username, remote), () -> {
+            for (String sessionId : remote) {
+                revokeLocally(sessionId, username);
+            }
+            return trustUnknown ? (long) remote.size() : 0L;
+        });
+    }
+
+    // 대기 중인 변경 사항을 Redis에 순서대로 반영 (브레이커가 허용하는 동안)
+    @Scheduled(fixedDelayString = "${spring.jwt.refresh-store.fallback.reconcile-ms:1000}")
+    public void reconcile() {
+
+        PendingWrite write;
+        long permit;
+        while ((write = pendingWrites.peek()) != null && (permit = circuitBreaker.tryAcquire()) != CircuitBreaker.NO_PERMIT) {
+
+            long start = System.nanoTime();
+            try {
+                if (write.delete != null) {
+                    delegate.delete(write.delete, write.username);
+                }
+                if (write.revoke != null) {
+                    delegate.revoke(write.username, List.of(write.revoke));
+                }
+                if (write.save != null) {
+                    delegate.save(write.save, write.username);
+                }
+            } catch (RuntimeException e) {
+                circuitBreaker.onResult(permit, System.nanoTime() - start, true);
+                log.warn("failed to reconcile refresh token store, {} writes pending", pendingWrites.size(), e);
+                return;
+            }
+            circuitBreaker.onResult(permit, System.nanoTime() - start, false);
+            pendingWrites.poll();
+        }
+
+        // 모두 반영되었으면 로컬 토큰은 Redis 기준으로 확인 (삭제 기록은 만료 전까지 유지)
+        if (pendingWrites.isEmpty()) {
+            localTokens.invalidateAll();
+        }
+    }
+
+    private boolean deleteLocally(String refresh, String username, boolean existed) {
+
+        String sessionId = RefreshTokenKeys.sessionId(refresh);
+        localTokens.invalidate(sessionId);
+        localRevoked.put(sessionId, Boolean.TRUE);
+        enqueue(new PendingWrite(refresh, null, username));
+
+        return existed;
+    }
+
+    private void revokeLocally(String sessionId, String username) {
+
+        localTokens.invalidate(sessionId);
+        localRevoked.put(sessionId, Boolean.TRUE);
+        enqueue(PendingWrite.revoke(sessionId, username));
+    }
+
+    private TokenPair rotateLocally(String oldRefresh, TokenPair next, String username) {
+
+        String sessionId = RefreshTokenKeys.sessionId(oldRefresh);
+        localTokens.invalidate(sessionId);
+        localRevoked.put(sessionId, Boolean.TRUE);
+        localTokens.put(RefreshTokenKeys.sessionId(next.getRefresh()), username);
+        enqueue(new PendingWrite(oldRefresh, next.getRefresh(), username));
+
+        return next;
+    }
+
+    // 브레이커가 허용하면 Redis 호출, 열려 있거나 호출이 실패하면 대체 모드로 처리
+    private <T> T call(String operation, Supplier<T> remote, Supplier<T> fallback) {
+
+        long permit = circuitBreaker.tryAcquire();
+        if (permit != CircuitBreaker.NO_PERMIT) {
+
+            long start = System.nanoTime();
+            try {
+                T result = remote.get();
+                circuitBreaker.onResult(permit, System.nanoTime() - start, false);
+                return result;
+            } catch (RefreshTokenReusedException e) {
+                // Redis가 정상 응답한 결과 (장애가 아니므로 대체 모드로 처리하지 않음)
+                circuitBreaker.onResult(permit, System.nanoTime() - start, false);
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onResult(permit, System.nanoTime() - start, true);
+                if (!fallbackEnabled) {
+                    throw e;
+                }
+                log.debug("refresh token store call failed, using local fallback", e);
+            }
+        } else if (!fallbackEnabled) {
+            throw new DataAccessResourceFailureException("refresh token store unavailable (circuit open)");
+        }
+
+        authMetrics.refreshStoreFallback(operation);
+        return fallback.get();
+    }
+
+    private void enqueue(PendingWrite write) {
+
+        while (!pendingWrites.offer(write)) {
+            pendingWrites.poll();
+            log.warn("refresh token write-behind queue is full, dropping the oldest write");
+        }
+    }
+
+    // Redis에 반영할 변경 사항 (delete 후 save 순서로 반영, 회전은 둘 다 있음, 세션 폐기는 revoke만 있음)
+    private static class PendingWrite {
+
+        final String delete;
+        final String save;
+        final String revoke;
+        final String username;
+
+        PendingWrite(String delete, String save, String username) {
+            this(delete, save, null, username);
+        }
+
+        private PendingWrite(String delete, String save, String revoke, String username) {
+
+            this.delete = delete;
+            this.save = save;
+            this.revoke = revoke;
+            this.username = username;
+        }
+
+        static PendingWrite revoke(String sessionId, String username) {
+            return new PendingWrite(null, null, sessionId, username);
+        }
+
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.example.springjwt.repository;
+
+// 사용자별 토큰 세대 번호 저장소
+public interface TokenGenerationStore {
+
+    long get(String username);  // 현재 세대 번호 조회 (없으면 0)
+
+    long increment(String username);  // 세대 번호 증가 후 새 세대 번호 반환
+
+}
@@ -1,10 +1,28 @@
 package com.example.springjwt.repository;
 
+import com.example.springjwt.dto.UserCredentials;
 import com.example.springjwt.entity.UserEntity;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
-    Boolean existsByUsername(String username);
 
-    UserEntity findByUsername(String username);
-}
\ No newline at end of file
+    // 사용자 조회 캐시 이름 (비밀번호/권한 변경 시 @CacheEvict(cacheNames = UserRepository.USER_CACHE, key = username)으로 무효화)
+    String USER_CACHE = "users";
+
+    // 로그인 시 인증에 필요한 컬럼만 조회 (username 유니크 인덱스 uk_user_username 사용)
+    // 로그인마다 DB를 조회하지 않도록 캐시, 존재하지 않는 사용자(null)도 캐시하여 반복 조회 차단
+    @Cacheable(cacheNames = USER_CACHE, key = "#p0")
+    @Query("select new com.example.springjwt.dto.UserCredentials(u.username, u.password, u.role) from UserEntity u where u.username = :username")
+    UserCredentials findCredentialsByUsername(@Param("username") String username);
+
+    // 비밀번호 해시 변경 (호출하는 쪽에서 USER_CACHE 무효화 필요)
+    @Modifying
+    @Transactional
+    @Query("update UserEntity u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+}
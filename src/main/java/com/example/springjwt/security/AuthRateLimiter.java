@@ -0,0 +1,167 @@
+package com.example.springjwt.security;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RateLimitStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+// 로그인/재발급 요청 제한 (IP별, username별 토큰 버킷)
+// 버킷은 Redis에 두고 클러스터 전체에서 공유하며, 요청마다 Redis를 조회하지 않도록 노드마다 로컬 버킷을 둠
+//   - 허용 : Redis에서 토큰을 lease개씩 미리 꺼내 로컬 버킷에 보관하고, 다 쓸 때까지 네트워크 없이 허용
+//   - 거부 : Redis 버킷이 비어 있으면 토큰 하나가 충전될 때까지 로컬에서 바로 거부 (반복 요청이 Redis까지 가지 않음)
+// 로컬 버킷은 키별 원자 카운터로만 갱신하므로 락이 없음 (키 목록은 Caffeine의 분할된 해시 테이블)
+// 미리 꺼낸 토큰은 Redis 버킷에서 이미 빠진 토큰이므로 클러스터 전체 허용량은 용량/충전량을 넘지 않음
+// 한 노드가 공유 버킷을 비우지 않도록 lease는 제한별로 min(lease, 용량 / expected-nodes) (최소 1)
+// username 제한은 용량이 작고 여러 노드로 나뉘어 들어오는 경우가 많으므로(같은 사용자의 여러 기기) 항상 1개씩 꺼냄
+// Redis 장애 시에는 로그인/재발급이 막히지 않도록 허용 (bcrypt 대기열 제한은 그대로 동작)
+// 장애 로그는 상태가 바뀔 때만 남기고(장애 시작/복구), 허용한 요청 수는 auth.rate_limit.fail_open 지표로 집계
+public class AuthRateLimiter {
+
+    private final RateLimitStore rateLimitStore;
+
+    private final AuthMetrics authMetrics;
+
+    private final boolean enabled;
+
+    private final Map<RateLimit, Settings> settings = new EnumMap<>(RateLimit.class);
+
+    // {limit}:{ip 또는 username} → 로컬 버킷
+    private final Cache<String, LocalBucket> buckets;
+
+    // Redis 장애로 요청을 허용하는 중인지 (상태가 바뀔 때만 로그)
+    private final AtomicBoolean storeUnavailable = new AtomicBoolean();
+
+    public AuthRateLimiter(RateLimitStore rateLimitStore, AuthMetrics authMetrics, Environment environment,
+                           @Value("${spring.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${spring.rate-limit.lease:5}") long lease,
+                           @Value("${spring.rate-limit.expected-nodes:4}") long expectedNodes,
+                           @Value("${spring.rate-limit.max-keys:100000}") long maxKeys) {
+
+        this.rateLimitStore = rateLimitStore;
+        this.authMetrics = authMetrics;
+        this.enabled = enabled;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(1)) // 쓰지 않은 토큰은 Redis로 돌려주지 않고 버림 (더 엄격한 방향)
+                .build();
+
+        for (RateLimit limit : RateLimit.values()) {
+
+            String prefix = "spring.rate-limit." + limit.getProperty() + ".";
+            long capacity = environment.getProperty(prefix + "capacity", Long.class, limit.getDefaultCapacity());
+            long limitLease = "username".equals(limit.getDimension())
+                    ? 1L
+                    : Math.min(lease, Math.max(1L, capacity / Math.max(1L, expectedNodes)));
+            settings.put(limit, new Settings(capacity,
+                    environment.getProperty(prefix + "refill-per-second", Double.class, limit.getDefaultRefillPerSecond()),
+                    limitLease));
+        }
+    }
+
+    // 토큰 하나를 꺼내고, 제한을 초과했으면 RateLimitedException 발생
+    public void acquire(RateLimit limit, String id) {
+
+        if (!enabled || id == null) {
+            return;
+        }
+
+        Settings limitSettings = settings.get(limit);
+        String key = limit.getProperty() + ":" + id;
+        LocalBucket bucket = buckets.get(key, k -> new LocalBucket());
+
+        // 로컬에 남은 토큰 사용
+        if (bucket.tryTake()) {
+            return;
+        }
+
+        // 최근에 Redis 버킷이 비어 있었으면 네트워크 없이 거부
+        if (System.nanoTime() < bucket.deniedUntil) {
+            throw rejected(limit, limitSettings);
+        }
+
+        long granted;
+        try {
+            granted = rateLimitStore.acquire(key, limitSettings.capacity, limitSettings.refillPerSecond, limitSettings.lease);
+        } catch (RuntimeException e) {
+            authMetrics.rateLimitFailOpen(limit.getFlow());
+            if (storeUnavailable.compareAndSet(false, true)) {
+                log.warn("rate limit store unavailable, allowing requests until it recovers", e);
+            }
+            return;
+        }
+        if (storeUnavailable.compareAndSet(true, false)) {
+            log.info("rate limit store recovered");
+        }
+
+        if (granted <= 0) {
+            bucket.deniedUntil = System.nanoTime() + limitSettings.nanosPerToken;
+            throw rejected(limit, limitSettings);
+        }
+
+        // 하나는 이번 요청에 사용하고 나머지는 로컬에 보관
+        bucket.tokens.addAndGet(granted - 1);
+    }
+
+    private RateLimitedException rejected(RateLimit limit, Settings limitSettings) {
+
+        authMetrics.rateLimited(limit.getFlow(), limit.getDimension());
+        return new RateLimitedException(limit, limitSettings.retryAfterSeconds);
+    }
+
+    private static class Settings {
+
+        final long capacity;
+        final double refillPerSecond;
+        final long nanosPerToken;
+        final long retryAfterSeconds;
+
+        // Redis에서 한 번에 꺼내는 토큰 수
+        final long lease;
+
+        Settings(long capacity, double refillPerSecond, long lease) {
+
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.lease = Math.min(lease, capacity);
+            this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+            this.retryAfterSeconds = Math.max(1L, (long) Math.ceil(1.0 / refillPerSecond));
+        }
+
+    }
+
+    private static class LocalBucket {
+
+        // Redis에서 미리 꺼내 온 토큰 수
+        final AtomicLong tokens = new AtomicLong();
+
+        // 이 시각(System.nanoTime)까지는 Redis를 조회하지 않고 거부
+        volatile long deniedUntil;
+
+        boolean tryTake() {
+
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+
+            return true;
+        }
+
+    }
+
+}
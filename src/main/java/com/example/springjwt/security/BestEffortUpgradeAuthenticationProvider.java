@@ -0,0 +1,34 @@
+package com.example.springjwt.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// 비밀번호 재해싱(cost 변경)을 최선 노력으로 처리하는 DaoAuthenticationProvider
+// 로그인 성공 후 재해싱(encode)이 bcrypt 대기열에 들어가지 못하면(PasswordHashingBusyException) 로그인은 그대로 성공시키고
+// 재해싱은 다음 로그인으로 미룸 (이미 확인된 비밀번호인데 503을 받고 재시도마다 bcrypt를 두 번 하지 않도록)
+public class BestEffortUpgradeAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public BestEffortUpgradeAuthenticationProvider(PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (PasswordHashingBusyException e) {
+
+            // 재해싱 없이 인증 결과만 생성 (AbstractUserDetailsAuthenticationProvider와 동일)
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(principal,
+                    authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+
+            return result;
+        }
+    }
+
+}
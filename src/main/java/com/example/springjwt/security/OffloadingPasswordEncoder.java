@@ -0,0 +1,107 @@
+package com.example.springjwt.security;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// bcrypt 해싱/검증을 CPU 코어 수 크기의 전용 스레드 풀에서 실행하는 PasswordEncoder
+// 로그인 폭주 시에도 bcrypt가 사용하는 CPU는 풀 크기로 제한되어, 인증된 일반 API 요청이 CPU를 계속 사용할 수 있음
+// 대기열이 가득 차면 기다리지 않고 PasswordHashingBusyException을 던져 바로 실패시킴 (요청 스레드가 무한정 쌓이지 않음)
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AuthMetrics authMetrics;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, AuthMetrics authMetrics) {
+
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size())
+                .description("bcrypt 작업 대기열 길이")
+                .register(authMetrics.getRegistry());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시의 cost가 현재 설정보다 낮으면 true (해시 문자열만 확인하므로 요청 스레드에서 바로 처리)
+    // 대기 중인 작업이 있으면(모든 스레드가 사용 중) 재해싱을 다음 로그인으로 미룸 (부하 중에 로그인마다 bcrypt를 두 번 하지 않음)
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword) && executor.getQueue().isEmpty();
+    }
+
+    // 현재 대기 중인 작업 수
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(String operation, Callable<T> task) {
+
+        Future<T> future;
+        try {
+            // 해싱 시간은 작업 스레드에서 측정 (대기열에서 기다린 시간 제외)
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    authMetrics.recordPassword(operation, System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            authMetrics.passwordRejected();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
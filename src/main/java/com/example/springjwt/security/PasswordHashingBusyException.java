@@ -0,0 +1,16 @@
+package com.example.springjwt.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 비밀번호 해싱 전용 스레드 풀의 대기열이 가득 찬 경우 발생 (503 Service Unavailable + Retry-After 응답)
+// AuthenticationException 하위 타입이므로 로그인 시에는 LoginFilter.unsuccessfulAuthentication()으로 전달됨
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    // 클라이언트에게 안내할 재시도 대기 시간(초)
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingBusyException() {
+        super("password hashing queue is full");
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.springjwt.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+// 로그인/재발급 요청 제한 종류 (클러스터 전체 토큰 버킷, AuthRateLimiter 참고)
+// 용량과 초당 충전량은 spring.rate-limit.{property}.capacity / refill-per-second 로 변경
+public enum RateLimit {
+
+    LOGIN_IP("login-ip", "login", "ip", 20, 1.0),
+    LOGIN_USERNAME("login-username", "login", "username", 10, 0.1),
+    REISSUE_IP("reissue-ip", "reissue", "ip", 60, 2.0),
+    REISSUE_USERNAME("reissue-username", "reissue", "username", 10, 0.2);
+
+    private final String property;
+
+    // 지표 태그 (flow: login/reissue, dimension: ip/username)
+    private final String flow;
+    private final String dimension;
+
+    private final long defaultCapacity;
+    private final double defaultRefillPerSecond;
+
+}
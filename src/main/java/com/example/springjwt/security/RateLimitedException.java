@@ -0,0 +1,22 @@
+package com.example.springjwt.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 요청 제한(토큰 버킷)을 초과한 경우 발생 (429 Too Many Requests + Retry-After 응답)
+// AuthenticationException 하위 타입이므로 로그인 시에는 LoginFilter.unsuccessfulAuthentication()으로 전달됨
+public class RateLimitedException extends AuthenticationServiceException {
+
+    // 클라이언트에게 안내할 재시도 대기 시간(초, 토큰 하나가 충전되는 시간)
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(RateLimit limit, long retryAfterSeconds) {
+
+        super("rate limit exceeded: " + limit.getProperty());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.springjwt.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 역할별 권한 목록을 한 번만 만들어 모든 사용자/요청이 공유 (불변 리스트)
+// 역할 값은 서명 검증이 끝난 토큰이나 DB에서만 오므로 항목 수는 역할 종류 수로 제한됨
+public final class RoleAuthorities {
+
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(String role) {
+        return AUTHORITIES.computeIfAbsent(role, key -> List.of(new SimpleGrantedAuthority(key)));
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.example.springjwt.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+// 폐기된 Access 토큰 ID(jti) 목록
+// 로그아웃 시 Access 토큰도 만료 전까지 사용할 수 없도록 등록하며, 매 요청마다 Redis를 조회하지 않도록 노드마다 인메모리로 보관
+//   - Bloom 필터 : "폐기되지 않음"을 네트워크 없이 바로 판단 (대부분의 요청은 여기서 끝남)
+//   - 정확한 목록 : Bloom 필터가 "있을 수도 있음"이라고 답한 경우에만 확인 (jti → 만료 시각)
+// 다른 노드에서 등록한 폐기 정보는 Redis pub/sub으로 전달받고, 시작 시(구독 완료 후)와 rebuild-ms 주기마다 Redis의 Sorted Set에서 다시 읽음
+// 토큰 만료 시각이 지난 항목은 주기적으로 제거하고 Bloom 필터를 다시 만듦 (Bloom 필터는 항목 삭제가 불가능하기 때문)
+public class AccessTokenDenylist implements MessageListener {
+
+    // Redis 저장소에 key는 denylist:access (member는 jti, score는 만료 시각), 같은 이름의 채널로 변경 사항 전파
+    private static final String KEY = "denylist:access";
+    private static final String CHANNEL = "denylist:access";
+
+    // 등록 + 만료 항목 정리 + 전파를 한 번의 왕복으로 처리
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3]) " +
+            "return redis.call('PUBLISH', ARGV[4], ARGV[1] .. ':' .. ARGV[2])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    // jti → 만료 시각(ms)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // 요청 스레드는 락 없이 읽기만 하고, 등록/재구성은 락으로 직렬화
+    // (synchronized는 가상 스레드를 캐리어 스레드에 고정시키므로 ReentrantLock 사용, 락을 잡은 상태로 Redis I/O를 하지 않음)
+    private volatile BloomFilter bloomFilter;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public AccessTokenDenylist(StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${spring.jwt.denylist.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${spring.jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        // 여기서는 리스너만 등록되고 실제 SUBSCRIBE는 컨테이너가 시작될 때(SmartLifecycle) 실행됨
+        // 시작 전에 읽은 목록은 구독 전에 발행된 폐기를 놓칠 수 있으므로, 구독이 끝난 뒤(onReady) 한 번 더 읽음
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    // 모든 SmartLifecycle 빈(리스너 컨테이너 포함)이 시작된 뒤 호출 → 구독 이후에 Redis에서 다시 읽어 그 사이의 폐기를 반영
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    // 폐기 여부 확인 (요청마다 호출되는 경로)
+    public boolean isRevoked(String jti) {
+
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+
+        Long expiration = revoked.get(jti);
+        return expiration != null && expiration > System.currentTimeMillis();
+    }
+
+    // Access 토큰 폐기 (만료 시각까지만 보관)
+    // Redis에 등록하지 못해도 이 노드의 목록에는 이미 들어 있으므로 예외를 던지지 않음 (로그아웃 응답은 정상 처리)
+    // 반환값 : 다른 노드에 전파되었으면 true
+    public boolean revoke(String jti, long expirationMs) {
+
+        addLocal(jti, expirationMs);
+
+        try {
+            redisTemplate.execute(REVOKE_SCRIPT, List.of(KEY),
+                    jti, String.valueOf(expirationMs), String.valueOf(System.currentTimeMillis()), CHANNEL);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("failed to publish access token revocation, revoked on this node only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // 다른 노드(또는 자신)가 발행한 폐기 메시지 수신 (jti:만료시각)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("ignoring malformed denylist message: {}", body);
+            return;
+        }
+
+        long expirationMs;
+        try {
+            expirationMs = Long.parseLong(body.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("ignoring malformed denylist message: {}", body);
+            return;
+        }
+
+        addLocal(body.substring(0, separator), expirationMs);
+    }
+
+    // 보관 중인 폐기 항목 수 (만료 항목은 rebuild() 때 제거)
+    public int size() {
+        return revoked.size();
+    }
+
+    // 만료 항목 제거 + Redis와 재동기화 + Bloom 필터 재구성
+    @Scheduled(fixedDelayString = "${spring.jwt.denylist.rebuild-ms:60000}", initialDelayString = "${spring.jwt.denylist.rebuild-ms:60000}")
+    public void rebuild() {
+
+        long now = System.currentTimeMillis();
+
+        Set<ZSetOperations.TypedTuple<String>> entries = null;
+        try {
+            entries = redisTemplate.opsForZSet().rangeByScoreWithScores(KEY, now, Double.POSITIVE_INFINITY);
+        } catch (RuntimeException e) {
+            // Redis를 읽지 못해도 로컬 목록으로 재구성 (pub/sub으로 받은 항목은 유지됨)
+            log.warn("failed to load access token denylist from redis", e);
+        }
+
+        lock.lock();
+        try {
+            if (entries != null) {
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        revoked.put(entry.getValue(), entry.getScore().longValue());
+                    }
+                }
+            }
+
+            revoked.values().removeIf(expiration -> expiration <= now);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addLocal(String jti, long expirationMs) {
+
+        if (expirationMs <= System.currentTimeMillis()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            // 정확한 목록에 먼저 넣은 뒤 Bloom 필터에 추가 (Bloom 필터가 먼저 "있음"이라고 답해도 목록 확인 시 누락되지 않도록)
+            revoked.put(jti, expirationMs);
+            bloomFilter.put(jti);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 비트 배열 기반 Bloom 필터 (비트 설정은 CAS로 처리하여 읽기와 동시에 수행 가능)
+    private static class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << index;
+                bits.accumulateAndGet((int) (index >>> 6), mask, (current, bit) -> current | bit);
+            }
+        }
+
+        boolean mightContain(String value) {
+
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        // FNV-1a 64비트 해시 + 비트 섞기
+        private static long hash64(String value) {
+
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+
+            return hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.example.springjwt.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 형식 CSV 레코드 읽기 (UserImportService에서 사용)
+// - 큰따옴표로 감싼 필드 안의 쉼표, 줄바꿈은 값으로 취급하고, 필드 안의 큰따옴표는 "" 로 표기
+// - 줄 끝은 \n, \r\n 모두 허용, 파일 앞의 UTF-8 BOM은 무시
+// - 감싸지 않은 필드 중간의 큰따옴표는 값으로 취급
+// 형식 오류(닫는 큰따옴표 뒤에 구분자가 아닌 문자, 닫히지 않은 큰따옴표, 너무 긴 레코드)는 빈 배열 반환
+// (닫히지 않은 큰따옴표는 파일 끝까지 한 필드로 읽히므로 이후 줄도 모두 그 레코드에 포함됨)
+class CsvRecordReader {
+
+    static final String[] MALFORMED = new String[0];
+
+    // 레코드 하나의 최대 길이 (넘으면 나머지는 읽고 버림, 닫히지 않은 큰따옴표로 업로드 전체가 메모리에 올라오지 않도록)
+    private static final int MAX_RECORD_CHARS = 8192;
+
+    private final Reader reader;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private boolean started;
+
+    // \r 다음에 읽은 문자 (\n이 아니면 다음 레코드의 첫 문자)
+    private int pending = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // 다음 레코드 (파일 끝이면 null)
+    String[] next() throws IOException {
+
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>(3);
+        field.setLength(0);
+        int length = 0;
+        boolean quoted = false;
+        boolean closed = false;
+        boolean malformed = false;
+
+        while (true) {
+
+            if (quoted) {
+                if (c == -1) {
+                    return MALFORMED;
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        closed = true;
+                        continue;
+                    }
+                }
+                malformed |= !append(c, length++);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                closed = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return malformed ? MALFORMED : fields.toArray(new String[0]);
+            } else if (closed) {
+                malformed = true;
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                malformed |= !append(c, length++);
+            }
+
+            c = read();
+        }
+    }
+
+    private boolean append(int c, int length) {
+
+        if (length >= MAX_RECORD_CHARS) {
+            return false;
+        }
+        field.append((char) c);
+
+        return true;
+    }
+
+    private int read() throws IOException {
+
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+
+        return reader.read();
+    }
+
+}
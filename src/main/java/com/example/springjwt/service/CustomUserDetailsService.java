@@ -1,30 +1,54 @@
 package com.example.springjwt.service;
 
 import com.example.springjwt.dto.CustomUserDetails;
+import com.example.springjwt.dto.UserCredentials;
 import com.example.springjwt.entity.UserEntity;
 import com.example.springjwt.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        UserEntity userData = userRepository.findByUsername(username);
+        UserCredentials credentials = userRepository.findCredentialsByUsername(username);
 
-        if (userData != null) {
-            return new CustomUserDetails(userData);
+        if (credentials == null) {
+            throw new UsernameNotFoundException("user not found: " + username);
         }
 
-        return null;
+        // 조회 결과로 만든 비영속 객체 (DB에 반영되지 않음)
+        UserEntity userData = new UserEntity();
+        userData.setUsername(credentials.getUsername());
+        userData.setPassword(credentials.getPassword());
+        userData.setRole(credentials.getRole());
+
+        return new CustomUserDetails(userData);
+    }
+
+    // 로그인 성공 후 저장된 해시의 cost가 현재 설정보다 낮으면 DaoAuthenticationProvider가 새 해시로 호출
+    @Override
+    @CacheEvict(cacheNames = UserRepository.USER_CACHE, key = "#p0.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        userRepository.updatePassword(user.getUsername(), newPassword);
+
+        UserEntity updated = new UserEntity();
+        updated.setUsername(user.getUsername());
+        updated.setPassword(newPassword);
+        updated.setRole(user.getAuthorities().iterator().next().getAuthority());
+
+        return new CustomUserDetails(updated);
     }
 
 }
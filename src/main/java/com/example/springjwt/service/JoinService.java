@@ -3,39 +3,42 @@ package com.example.springjwt.service;
 import com.example.springjwt.dto.JoinDTO;
 import com.example.springjwt.entity.UserEntity;
 import com.example.springjwt.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JoinService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
-    public JoinService(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+    public JoinService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
 
         this.userRepository = userRepository;
-        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.passwordEncoder = passwordEncoder;
     }
 
+    // 가입 전 조회로 캐시에 남은 "없는 사용자" 항목 제거
+    @CacheEvict(cacheNames = UserRepository.USER_CACHE, key = "#p0.username")
     public void joinProcess(JoinDTO joinDTO) {
 
         String username = joinDTO.getUsername();
         String password = joinDTO.getPassword();
 
-        Boolean isExist = userRepository.existsByUsername(username);
-
-        if (isExist) {
-
-            return;
-        }
-
         UserEntity data = new UserEntity();
 
         data.setUsername(username);
-        data.setPassword(bCryptPasswordEncoder.encode(password));
+        data.setPassword(passwordEncoder.encode(password));
         data.setRole("ROLE_ADMIN");
 
-        userRepository.save(data);
+        // 이미 가입된 username이면 유니크 인덱스 위반으로 실패 (조회 후 저장 사이의 경쟁 없음)
+        try {
+            userRepository.saveAndFlush(data);
+        } catch (DataIntegrityViolationException e) {
+
+            return;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshTokenStore;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+// Refresh 토큰 회전 (재발급)
+// 같은 Refresh 토큰으로 동시에 들어온 재발급 요청(탭 여러 개, 재시도 등)은 한 번만 회전하고 모두 같은 토큰 쌍을 받음
+// - 같은 노드 : 진행 중인(또는 유예 시간 내에 끝난) 회전 결과를 인메모리에서 공유
+// - 다른 노드 : Redis 회전 기록(RefreshTokenKeys 참고)에서 먼저 회전한 요청의 토큰 쌍을 받음
+// 유예 시간이 지난 뒤 같은 토큰이 다시 사용되면 재사용으로 판단하여 거부
+public class RefreshRotationService {
+
+    private final JWTUtil jwtUtil;
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    private final AuthMetrics authMetrics;
+
+    private final RefreshSessionService refreshSessionService;
+
+    // 기존 Refresh 토큰 → 회전 결과 (유예 시간 동안만 보관)
+    private final AsyncCache<String, TokenPair> rotations;
+
+    public RefreshRotationService(JWTUtil jwtUtil, RefreshTokenStore refreshTokenStore, AuthMetrics authMetrics,
+                                  RefreshSessionService refreshSessionService,
+                                  @Value("${spring.jwt.reissue.grace-ms:10000}") long graceMs) {
+
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenStore = refreshTokenStore;
+        this.authMetrics = authMetrics;
+        this.refreshSessionService = refreshSessionService;
+        this.rotations = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(graceMs))
+                .buildAsync();
+    }
+
+    // 새 토큰 쌍 반환 (저장되어 있지 않거나 유예 시간이 지난 재사용이면 null)
+    public TokenPair rotate(String refresh, String username, String role, long generation) {
+
+        CompletableFuture<TokenPair> promise = new CompletableFuture<>();
+        CompletableFuture<TokenPair> inFlight = rotations.asMap().putIfAbsent(refresh, promise);
+
+        // 같은 토큰의 회전이 이미 진행 중이면 그 결과를 공유
+        if (inFlight != null) {
+
+            TokenPair shared = join(inFlight);
+            if (shared != null) {
+                authMetrics.outcome("reissue", "coalesced");
+            }
+
+            return shared;
+        }
+
+        try {
+            // AccessToken과 RefreshToken 재생성 (생명 주기: Access - 10분, Refresh - 24시간)
+            TokenPair next = new TokenPair(
+                    jwtUtil.createJwt("access", username, role, generation, 600000L),
+                    jwtUtil.createJwt("refresh", username, role, generation, 86400000L));
+
+            //Redis에 저장되어 있는지 확인 후 기존의 Refresh 토큰 삭제, 새 Refresh 토큰 저장 (스크립트로 한 번에 처리)
+            //다른 노드에서 먼저 회전했으면 그 토큰 쌍을 받음
+            TokenPair rotated = refreshTokenStore.rotate(refresh, next, username);
+            if (rotated != null && rotated != next) {
+                authMetrics.outcome("reissue", "coalesced");
+            }
+            //이 요청이 회전했으면 세션 목록의 세션 ID를 새 토큰으로 변경 (로그인 정보 유지)
+            if (rotated == next) {
+                refreshSessionService.rotated(refresh, next.getRefresh(), username);
+            }
+
+            promise.complete(rotated);
+
+            return rotated;
+        } catch (RuntimeException e) {
+
+            // 실패한 결과는 공유하지 않음 (대기 중인 요청은 같은 예외를 받고, 이후 요청은 다시 시도)
+            rotations.asMap().remove(refresh, promise);
+            promise.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static TokenPair join(CompletableFuture<TokenPair> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.dto.RefreshSession;
+import com.example.springjwt.dto.RefreshSessionPage;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshSessionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Service
+// 사용자별 로그인 세션 관리 (기기별 세션 목록 조회, 선택한 세션 로그아웃)
+// 세션 목록은 부가 정보이므로 로그인/재발급/로그아웃 중 목록 갱신에 실패해도 요청은 성공 처리 (다음 조회 때 토큰 기준으로 정리됨)
+public class RefreshSessionService {
+
+    // 일괄 폐기 시 한 번에 전송하는 세션 수
+    private static final int REVOKE_BATCH = 500;
+
+    private final RefreshSessionStore refreshSessionStore;
+
+    private final AuthMetrics authMetrics;
+
+    private final int maxPageSize;
+
+    public RefreshSessionService(RefreshSessionStore refreshSessionStore, AuthMetrics authMetrics,
+                                 @Value("${spring.jwt.sessions.max-page-size:100}") int maxPageSize) {
+
+        this.refreshSessionStore = refreshSessionStore;
+        this.authMetrics = authMetrics;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // 로그인 (LoginFilter)
+    public void opened(String refresh, String username, String ip, String device) {
+
+        try {
+            refreshSessionStore.add(refresh, username, ip, device);
+        } catch (RuntimeException e) {
+            failed("add", username, e);
+        }
+    }
+
+    // 재발급 (이 요청이 회전한 경우에만)
+    public void rotated(String oldRefresh, String newRefresh, String username) {
+
+        try {
+            refreshSessionStore.replace(oldRefresh, newRefresh, username);
+        } catch (RuntimeException e) {
+            failed("replace", username, e);
+        }
+    }
+
+    // 로그아웃 (CustomLogoutFilter)
+    public void closed(String refresh, String username) {
+
+        try {
+            refreshSessionStore.remove(refresh, username);
+        } catch (RuntimeException e) {
+            failed("remove", username, e);
+        }
+    }
+
+    // 세션 목록 한 페이지 (currentRefresh가 있으면 그 토큰의 세션에 current 표시)
+    public RefreshSessionPage list(String username, String currentRefresh, String cursor, int size) {
+
+        RefreshSessionPage page = refreshSessionStore.list(username, cursor, Math.max(1, Math.min(size, maxPageSize)));
+        if (currentRefresh == null) {
+            return page;
+        }
+
+        String currentId = RefreshSessionStore.sessionId(currentRefresh);
+        List<RefreshSession> sessions = new ArrayList<>(page.getSessions().size());
+        for (RefreshSession session : page.getSessions()) {
+            sessions.add(session.getId().equals(currentId) ? session.asCurrent() : session);
+        }
+
+        return new RefreshSessionPage(sessions, page.getNext());
+    }
+
+    // 선택한 세션 폐기, 삭제된 Refresh 토큰 수 반환
+    public long revoke(String username, Collection<String> sessionIds) {
+
+        List<String> ids = new ArrayList<>(sessionIds);
+        long revoked = 0L;
+        for (int from = 0; from < ids.size(); from += REVOKE_BATCH) {
+            revoked += refreshSessionStore.revoke(username, ids.subList(from, Math.min(from + REVOKE_BATCH, ids.size())));
+        }
+
+        return revoked;
+    }
+
+    // 현재 세션을 제외한 모든 세션 폐기 (다른 기기에서 로그아웃)
+    // currentRefresh가 없으면 모든 세션이 폐기되므로 허용하지 않음
+    public long revokeOthers(String username, String currentRefresh) {
+
+        if (currentRefresh == null) {
+            throw new IllegalArgumentException("current refresh token is required");
+        }
+
+        String currentId = RefreshSessionStore.sessionId(currentRefresh);
+        long revoked = 0L;
+        String cursor = null;
+        do {
+            RefreshSessionPage page = refreshSessionStore.list(username, cursor, REVOKE_BATCH);
+
+            List<String> ids = new ArrayList<>(page.getSessions().size());
+            for (RefreshSession session : page.getSessions()) {
+                if (!session.getId().equals(currentId)) {
+                    ids.add(session.getId());
+                }
+            }
+            if (!ids.isEmpty()) {
+                revoked += refreshSessionStore.revoke(username, ids);
+            }
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        return revoked;
+    }
+
+    // 세션 목록 삭제 (세대 번호를 올려 모든 토큰을 무효화한 경우)
+    public void clear(String username) {
+
+        try {
+            refreshSessionStore.clear(username);
+        } catch (RuntimeException e) {
+            failed("clear", username, e);
+        }
+    }
+
+    private void failed(String operation, String username, RuntimeException e) {
+
+        authMetrics.sessionIndexFailure(operation);
+        log.warn("failed to update session index ({}) for {}", operation, username, e);
+    }
+
+}
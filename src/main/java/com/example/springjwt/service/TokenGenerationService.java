@@ -0,0 +1,139 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.TokenGenerationStore;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+// 사용자별 토큰 세대 번호 관리
+// 토큰 발급 시 현재 세대 번호를 gen 클레임에 넣고, 검증 시 토큰의 세대 번호가 현재 세대보다 낮으면 거부
+// 세대 번호를 올리면 해당 사용자의 모든 Access/Refresh 토큰이 토큰별 저장 없이 한 번에 무효화됨 ("모든 기기에서 로그아웃")
+// 매 요청마다 Redis를 조회하지 않도록 세대 번호를 인메모리 캐시에 보관하고, refresh-ms 주기로 백그라운드에서 갱신
+// (다른 노드에서 올린 세대 번호는 최대 refresh-ms 이후 반영)
+// Redis 장애로 캐시에 없는 사용자의 세대 번호를 읽지 못하면 초기 세대(0)로 간주 : 모든 토큰을 현재 세대로 허용 (요청은 500 없이 처리)
+// 장애 중에는 "모든 기기에서 로그아웃"이 캐시에 없는 사용자에게 적용되지 않고, 이때 발급한 세대 0 토큰은
+// 복구 후 세대 번호를 올린 적이 있는 사용자라면 이전 세대로 거부됨 (다시 로그인)
+public class TokenGenerationService implements DisposableBean {
+
+    // Redis 장애 시 대신 사용하는 세대 번호 (저장소에 키가 없는 사용자의 세대 번호와 같음)
+    static final long UNKNOWN_GENERATION = 0L;
+
+    private final TokenGenerationStore tokenGenerationStore;
+
+    private final AuthMetrics authMetrics;
+
+    // 장애 로그는 장애 시작/복구 시 한 번씩만 남김 (요청마다 남기지 않음)
+    private final AtomicBoolean storeUnavailable = new AtomicBoolean();
+
+    private final AsyncLoadingCache<String, Long> asyncGenerations;
+
+    private final LoadingCache<String, Long> generations;
+
+    // Redis 조회(블로킹) 전용 스레드 풀 (지정하지 않으면 Caffeine이 ForkJoinPool.commonPool에서 조회하여
+    // CPU 작업용 공용 풀 스레드가 Redis 응답을 기다리며 점유됨)
+    private final ExecutorService loaderExecutor;
+
+    public TokenGenerationService(TokenGenerationStore tokenGenerationStore,
+                                  AuthMetrics authMetrics,
+                                  @Value("${spring.jwt.generation.refresh-ms:5000}") long refreshMs,
+                                  @Value("${spring.jwt.generation.max-size:100000}") long maxSize,
+                                  @Value("${spring.jwt.generation.loader-threads:4}") int loaderThreads) {
+
+        this.tokenGenerationStore = tokenGenerationStore;
+        this.authMetrics = authMetrics;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.loaderExecutor = Executors.newFixedThreadPool(loaderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "token-generation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.asyncGenerations = Caffeine.newBuilder()
+                .executor(loaderExecutor)
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofMillis(refreshMs)) // 주기가 지난 뒤 조회되면 기존 값을 반환하면서 비동기로 갱신
+                .expireAfterAccess(Duration.ofMinutes(10)) // 한동안 요청이 없는 사용자는 캐시에서 제거
+                // 비동기 로딩 캐시 사용 : 동기 로딩은 ConcurrentHashMap.compute() 내부(synchronized)에서 Redis를 조회하므로
+                // 가상 스레드 모드에서 캐리어 스레드가 고정되고 같은 버킷의 다른 사용자 조회도 막힘
+                .buildAsync(tokenGenerationStore::get);
+        this.generations = asyncGenerations.synchronous();
+    }
+
+    // 현재 세대 번호 (조회 실패 시 UNKNOWN_GENERATION)
+    public long current(String username) {
+
+        long generation;
+        try {
+            generation = generations.get(username);
+        } catch (RuntimeException e) {
+            return unavailable(e);
+        }
+
+        available();
+        return generation;
+    }
+
+    // 현재 세대 번호 (리액티브 모드용, 캐시에 없으면 이벤트 루프가 아닌 별도 스레드에서 Redis 조회, 조회 실패 시 UNKNOWN_GENERATION)
+    public CompletableFuture<Long> currentAsync(String username) {
+
+        return asyncGenerations.get(username).handle((generation, e) -> {
+            if (e != null) {
+                return unavailable(e);
+            }
+            available();
+            return generation;
+        });
+    }
+
+    // 토큰의 세대 번호가 현재 세대 이상인지 확인
+    public boolean isCurrent(String username, long generation) {
+        return generation >= current(username);
+    }
+
+    // 세대 번호를 올려 사용자의 모든 토큰 무효화
+    public long revokeAll(String username) {
+
+        long generation = tokenGenerationStore.increment(username);
+        generations.put(username, generation);
+
+        return generation;
+    }
+
+    private long unavailable(Throwable e) {
+
+        authMetrics.generationUnavailable();
+        if (storeUnavailable.compareAndSet(false, true)) {
+            log.warn("token generation store unavailable, treating unknown generations as current until it recovers", e);
+        }
+
+        return UNKNOWN_GENERATION;
+    }
+
+    private void available() {
+
+        if (storeUnavailable.get() && storeUnavailable.compareAndSet(true, false)) {
+            log.info("token generation store recovered");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        loaderExecutor.shutdown();
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.dto.UserImportResult;
+import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+// CSV 대량 가입 (레코드 형식: username,password[,role], 첫 레코드의 첫 필드가 username이면 헤더로 보고 건너뜀)
+// 큰따옴표로 감싼 필드(쉼표/큰따옴표/줄바꿈이 들어간 비밀번호 등)는 CsvRecordReader 참고
+// 파일 전체를 메모리에 올리지 않고 batch-size 줄씩 읽어서 비밀번호를 병렬로 해싱한 뒤 JDBC 배치로 저장
+// 중복 확인은 조회 없이 유니크 인덱스에 맡김 (배치에 중복이 있으면 그 배치만 한 건씩 다시 저장)
+public class UserImportService implements DisposableBean {
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 가입 전 조회로 캐시에 남은 "없는 사용자" 항목 제거용 (캐시 미사용 시 null)
+    private final Cache userCache;
+
+    // 로그인용 PasswordEncoder(대기열이 가득 차면 바로 실패)와 별도의 스레드 풀에서 해싱
+    // 대량 가입이 진행되는 동안에도 로그인 요청의 bcrypt 검증은 영향을 받지 않음
+    private final PasswordEncoder passwordEncoder;
+
+    private final ExecutorService hashingExecutor;
+
+    private final int batchSize;
+
+    public UserImportService(UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             CacheManager cacheManager,
+                             @Value("${spring.password.bcrypt-strength:10}") int strength,
+                             @Value("${spring.user-import.hashing-threads:0}") int threads,
+                             @Value("${spring.user-import.batch-size:500}") int batchSize) {
+
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userCache = cacheManager.getCache(UserRepository.USER_CACHE);
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.batchSize = batchSize;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public UserImportResult importCsv(InputStream csv) throws IOException {
+
+        long imported = 0;
+        long duplicates = 0;
+        long invalid = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+
+            CsvRecordReader records = new CsvRecordReader(reader);
+            List<String[]> rows = new ArrayList<>(batchSize);
+            boolean first = true;
+            String[] columns;
+            while ((columns = records.next()) != null) {
+
+                if (columns.length == 1 && columns[0].isBlank()) {
+                    continue;
+                }
+
+                if (first && columns.length > 0 && columns[0].trim().equalsIgnoreCase("username")) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+
+                // 형식 오류(CsvRecordReader.MALFORMED)는 길이 0
+                if (columns.length < 2 || columns.length > 3 || columns[0].isBlank() || columns[1].isEmpty()) {
+                    invalid++;
+                    continue;
+                }
+
+                rows.add(columns);
+                if (rows.size() == batchSize) {
+                    long saved = importBatch(rows);
+                    imported += saved;
+                    duplicates += rows.size() - saved;
+                    rows.clear();
+                }
+            }
+
+            if (!rows.isEmpty()) {
+                long saved = importBatch(rows);
+                imported += saved;
+                duplicates += rows.size() - saved;
+            }
+        }
+
+        log.info("user import finished: imported={}, duplicates={}, invalid={}", imported, duplicates, invalid);
+        return new UserImportResult(imported, duplicates, invalid);
+    }
+
+    // 배치 하나를 해싱 후 저장하고 저장된 사용자 수를 반환
+    private long importBatch(List<String[]> rows) {
+
+        List<CompletableFuture<UserEntity>> hashing = new ArrayList<>(rows.size());
+        for (String[] columns : rows) {
+            hashing.add(CompletableFuture.supplyAsync(() -> toEntity(columns), hashingExecutor));
+        }
+
+        List<UserEntity> users = new ArrayList<>(rows.size());
+        for (CompletableFuture<UserEntity> future : hashing) {
+            users.add(future.join());
+        }
+
+        long saved;
+        try {
+            // 배치 전체를 한 트랜잭션으로 저장 (hibernate.jdbc.batch_size 단위로 묶어서 INSERT)
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+            });
+            saved = users.size();
+        } catch (DataIntegrityViolationException e) {
+            // 이미 가입된 username이 섞여 있으면 배치 전체가 롤백되므로 한 건씩 다시 저장
+            saved = 0;
+            for (UserEntity user : users) {
+                user.setId(0); // 롤백된 INSERT에서 받은 id 제거 (새 엔티티로 저장)
+                try {
+                    userRepository.saveAndFlush(user);
+                    saved++;
+                } catch (DataIntegrityViolationException duplicate) {
+                    // 중복 username은 건너뜀
+                }
+            }
+        }
+
+        if (userCache != null) {
+            for (UserEntity user : users) {
+                userCache.evict(user.getUsername());
+            }
+        }
+
+        return saved;
+    }
+
+    private UserEntity toEntity(String[] columns) {
+
+        UserEntity user = new UserEntity();
+        user.setUsername(columns[0].trim());
+        user.setPassword(passwordEncoder.encode(columns[1]));
+        user.setRole(columns.length > 2 && !columns[2].isBlank() ? columns[2].trim() : DEFAULT_ROLE);
+
+        return user;
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdown();
+    }
+
+}
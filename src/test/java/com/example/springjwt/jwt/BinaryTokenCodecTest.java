@@ -0,0 +1,207 @@
+package com.example.springjwt.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryTokenCodecTest {
+
+    private static final SecretKey KEY = new SecretKeySpec(
+            "vmfhaltmskdlstkfkdgodyroqkfwkdbalroqkfwkdbalaaaaaaaaaaaaaaaabbbbb".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final BinaryTokenCodec codec = new BinaryTokenCodec(KEY);
+
+    @Test
+    void roundTripsAllClaims() {
+
+        long now = System.currentTimeMillis();
+        String token = codec.encode("refresh", "user1", "ROLE_USER", 7L, now, now + HOUR_MS);
+
+        VerifiedToken verified = codec.decode(token);
+
+        assertThat(token).startsWith(BinaryTokenCodec.PREFIX);
+        assertThat(verified.getCategory()).isEqualTo("refresh");
+        assertThat(verified.getUsername()).isEqualTo("user1");
+        assertThat(verified.getRole()).isEqualTo("ROLE_USER");
+        assertThat(verified.getGeneration()).isEqualTo(7L);
+        assertThat(verified.getIssuedAt()).isEqualTo(now / 1000 * 1000);
+        assertThat(verified.getExpiration()).isEqualTo((now + HOUR_MS) / 1000 * 1000);
+        assertThat(verified.getId()).hasSize(36);
+    }
+
+    // 코드 목록에 없는 카테고리/역할은 문자열 그대로 저장
+    @Test
+    void roundTripsValuesWithoutCode() {
+
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = codec.decode(codec.encode("mfa", "사용자", "ROLE_AUDITOR", 0L, now, now + HOUR_MS));
+
+        assertThat(verified.getCategory()).isEqualTo("mfa");
+        assertThat(verified.getUsername()).isEqualTo("사용자");
+        assertThat(verified.getRole()).isEqualTo("ROLE_AUDITOR");
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, 127L, 128L, 16_383L, 16_384L, Integer.MAX_VALUE, Long.MAX_VALUE, -1L})
+    void roundTripsVarintGenerations(long generation) {
+
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = codec.decode(codec.encode("access", "user1", "ROLE_USER", generation, now, now + HOUR_MS));
+
+        assertThat(verified.getGeneration()).isEqualTo(generation);
+    }
+
+    @Test
+    void encodesSmallGenerationsInOneByte() {
+
+        long now = System.currentTimeMillis();
+
+        int oneByte = payload(codec.encode("access", "user1", "ROLE_USER", 127L, now, now + HOUR_MS)).length;
+        int twoBytes = payload(codec.encode("access", "user1", "ROLE_USER", 128L, now, now + HOUR_MS)).length;
+        int tenBytes = payload(codec.encode("access", "user1", "ROLE_USER", -1L, now, now + HOUR_MS)).length;
+
+        assertThat(twoBytes).isEqualTo(oneByte + 1);
+        assertThat(tenBytes).isEqualTo(oneByte + 9);
+    }
+
+    // 11바이트 이상 이어지는 varint는 거부
+    @Test
+    void rejectsOverlongVarint() {
+
+        byte[] payload = new byte[3 + 11];
+        payload[0] = 1;
+        payload[1] = 1;
+        payload[2] = 1;
+        Arrays.fill(payload, 3, payload.length, (byte) 0xFF);
+
+        assertThatThrownBy(() -> codec.decode(signed(payload)))
+                .isInstanceOf(MalformedJwtException.class)
+                .hasMessageContaining("varint");
+    }
+
+    // 서명이 올바르더라도 잘린 payload는 어느 위치에서 잘렸든 MalformedJwtException
+    @Test
+    void rejectsTruncatedPayloadAtEveryLength() {
+
+        long now = System.currentTimeMillis();
+        byte[] payload = payload(codec.encode("access", "user1", "ROLE_USER", 300L, now, now + HOUR_MS));
+
+        for (int length = 0; length < payload.length; length++) {
+
+            String truncated = signed(Arrays.copyOf(payload, length));
+            assertThatThrownBy(() -> codec.decode(truncated))
+                    .as("payload truncated to %d bytes", length)
+                    .isInstanceOf(MalformedJwtException.class);
+        }
+    }
+
+    @Test
+    void rejectsTokenWithoutSignatureSeparator() {
+        assertThatThrownBy(() -> codec.decode(BinaryTokenCodec.PREFIX + "AQEB"))
+                .isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertThatThrownBy(() -> codec.decode(BinaryTokenCodec.PREFIX + "***.***"))
+                .isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void rejectsUnknownClaimCode() {
+
+        byte[] payload = {1, 9, 1};
+
+        assertThatThrownBy(() -> codec.decode(signed(payload)))
+                .isInstanceOf(MalformedJwtException.class)
+                .hasMessageContaining("unknown claim code");
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+
+        byte[] payload = {2, 1, 1};
+
+        assertThatThrownBy(() -> codec.decode(signed(payload)))
+                .isInstanceOf(MalformedJwtException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+
+        BinaryTokenCodec other = new BinaryTokenCodec(new SecretKeySpec(
+                "another-secret-another-secret-another-secret-another-secret-0000".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        long now = System.currentTimeMillis();
+        String token = other.encode("access", "user1", "ROLE_USER", 0L, now, now + HOUR_MS);
+
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(SignatureException.class);
+    }
+
+    // 서명은 그대로 두고 payload만 바꾸면(역할 코드 ROLE_USER → ROLE_ADMIN) 서명 불일치
+    @Test
+    void rejectsTamperedPayload() {
+
+        long now = System.currentTimeMillis();
+        String token = codec.encode("access", "user1", "ROLE_USER", 0L, now, now + HOUR_MS);
+        byte[] payload = payload(token);
+        payload[2] = (byte) CompactClaims.roleCode("ROLE_ADMIN");
+
+        String tampered = BinaryTokenCodec.PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(payload)
+                + token.substring(token.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> codec.decode(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+
+        long now = System.currentTimeMillis();
+        String token = codec.encode("access", "user1", "ROLE_USER", 0L, now - 2 * HOUR_MS, now - HOUR_MS);
+
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    // 만료 시각은 초 단위로 저장하므로 남은 시간이 1초 미만이면 이미 만료로 처리
+    @Test
+    void treatsSubSecondRemainderAsExpired() {
+
+        long now = System.currentTimeMillis();
+        String token = codec.encode("access", "user1", "ROLE_USER", 0L, now, now / 1000 * 1000);
+
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static byte[] payload(String token) {
+        return Base64.getUrlDecoder().decode(token.substring(BinaryTokenCodec.PREFIX.length(), token.lastIndexOf('.')));
+    }
+
+    // 테스트용 payload를 같은 키로 서명한 토큰
+    private static String signed(byte[] payload) {
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(KEY);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return BinaryTokenCodec.PREFIX + encoder.encodeToString(payload) + "." + encoder.encodeToString(mac.doFinal(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
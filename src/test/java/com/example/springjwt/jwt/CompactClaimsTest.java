@@ -0,0 +1,43 @@
+package com.example.springjwt.jwt;
+
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactClaimsTest {
+
+    @Test
+    void encodesKnownValuesAsCodes() {
+
+        assertThat(CompactClaims.encodeCategory("access")).isEqualTo(1);
+        assertThat(CompactClaims.encodeRole("ROLE_USER")).isEqualTo(2);
+        assertThat(CompactClaims.decodeCategory(1)).isEqualTo("access");
+        assertThat(CompactClaims.decodeRole(2)).isEqualTo("ROLE_USER");
+    }
+
+    @Test
+    void keepsUnknownValuesAsStrings() {
+
+        assertThat(CompactClaims.encodeRole("ROLE_AUDITOR")).isEqualTo("ROLE_AUDITOR");
+        assertThat(CompactClaims.decodeRole("ROLE_AUDITOR")).isEqualTo("ROLE_AUDITOR");
+    }
+
+    @Test
+    void rejectsUnknownCodes() {
+
+        assertThatThrownBy(() -> CompactClaims.decodeCategory(0)).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> CompactClaims.decodeCategory(3)).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> CompactClaims.decodeRole(-1)).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> CompactClaims.decodeRole(99)).isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void rejectsMissingOrNonTextClaims() {
+
+        assertThatThrownBy(() -> CompactClaims.decodeRole(null)).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> CompactClaims.decodeCategory(true)).isInstanceOf(MalformedJwtException.class);
+    }
+
+}
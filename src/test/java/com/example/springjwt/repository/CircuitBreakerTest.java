@@ -0,0 +1,211 @@
+package com.example.springjwt.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // open 시간이 지나지 않는 브레이커 (OPEN 상태 확인용)
+    private static CircuitBreaker longOpen(int window, int minimumCalls, double failureRate) {
+        return new CircuitBreaker(window, minimumCalls, failureRate, SLOW_NANOS, TimeUnit.MINUTES.toNanos(10));
+    }
+
+    // open 시간이 0인 브레이커 (열린 직후 다음 호출이 바로 HALF_OPEN 시험 호출)
+    private static CircuitBreaker instantProbe(int window, int minimumCalls, double failureRate) {
+        return new CircuitBreaker(window, minimumCalls, failureRate, SLOW_NANOS, 0L);
+    }
+
+    // 허용받은 호출의 결과 보고
+    private static void call(CircuitBreaker breaker, long elapsedNanos, boolean failed) {
+
+        long permit = breaker.tryAcquire();
+        assertThat(permit).isNotEqualTo(CircuitBreaker.NO_PERMIT);
+        breaker.onResult(permit, elapsedNanos, failed);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+
+        CircuitBreaker breaker = longOpen(10, 4, 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            call(breaker, FAST_NANOS, true);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+
+        CircuitBreaker breaker = longOpen(10, 4, 0.5);
+
+        call(breaker, FAST_NANOS, false);
+        call(breaker, FAST_NANOS, true);
+        call(breaker, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(breaker, FAST_NANOS, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.NO_PERMIT);
+    }
+
+    // 실패하지 않았더라도 slow-call 기준 이상 걸린 호출은 실패로 집계
+    @Test
+    void opensOnSlowCalls() {
+
+        CircuitBreaker breaker = longOpen(10, 4, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            call(breaker, SLOW_NANOS, false);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.NO_PERMIT);
+    }
+
+    // 가장 오래된 결과는 창에서 빠짐
+    @Test
+    void evaluatesOnlyTheSlidingWindow() {
+
+        CircuitBreaker breaker = longOpen(4, 4, 0.75);
+
+        call(breaker, FAST_NANOS, true);
+        call(breaker, FAST_NANOS, true);
+        call(breaker, FAST_NANOS, false);
+        call(breaker, FAST_NANOS, false);
+        call(breaker, FAST_NANOS, true);  // F S S F
+        call(breaker, FAST_NANOS, true);  // S S F F
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(breaker, FAST_NANOS, true);  // S F F F
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void allowsSingleProbeWhenHalfOpen() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        call(breaker, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.NO_PERMIT);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.NO_PERMIT);
+    }
+
+    // CLOSED → OPEN → HALF_OPEN → CLOSED, 닫히면 이전 결과는 초기화
+    @Test
+    void closesAfterSuccessfulProbeAndResetsWindow() {
+
+        CircuitBreaker breaker = instantProbe(4, 2, 0.5);
+        call(breaker, FAST_NANOS, true);
+        call(breaker, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        call(breaker, FAST_NANOS, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.NO_PERMIT);
+
+        call(breaker, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensAfterFailedProbe() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        call(breaker, FAST_NANOS, true);
+
+        call(breaker, FAST_NANOS, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void reopensAfterSlowProbe() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        call(breaker, FAST_NANOS, true);
+
+        call(breaker, SLOW_NANOS, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    // 열리기 전에 허용되어 열린 동안 늦게 도착한 결과는 무시
+    @Test
+    void ignoresResultsWhileOpen() {
+
+        CircuitBreaker breaker = longOpen(2, 1, 0.5);
+        long late = breaker.tryAcquire();
+        call(breaker, FAST_NANOS, true);
+
+        breaker.onResult(late, FAST_NANOS, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.NO_PERMIT);
+    }
+
+    // HALF_OPEN에서 열리기 전에 허용된 호출이 늦게 성공해도 닫히지 않고, 시험 호출 결과로만 결정
+    @Test
+    void staleSuccessDoesNotCloseWhileProbing() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        long stale = breaker.tryAcquire();
+        call(breaker, FAST_NANOS, true);
+
+        long probe = breaker.tryAcquire();
+        assertThat(probe).isNotEqualTo(CircuitBreaker.NO_PERMIT);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onResult(stale, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.NO_PERMIT);
+
+        breaker.onResult(probe, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    // HALF_OPEN에서 열리기 전에 허용된 호출이 늦게 실패해도 다시 열리지 않음
+    @Test
+    void staleFailureDoesNotReopenWhileProbing() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        long stale = breaker.tryAcquire();
+        call(breaker, FAST_NANOS, true);
+
+        long probe = breaker.tryAcquire();
+
+        breaker.onResult(stale, FAST_NANOS, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onResult(probe, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    // 이전 CLOSED 구간에서 허용된 호출의 결과는 다시 닫힌 뒤의 창에 집계하지 않음
+    @Test
+    void ignoresResultsFromPreviousClosedPeriod() {
+
+        CircuitBreaker breaker = instantProbe(2, 1, 0.5);
+        long stale = breaker.tryAcquire();
+        call(breaker, FAST_NANOS, true);
+        call(breaker, FAST_NANOS, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onResult(stale, FAST_NANOS, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.example.springjwt.repository;
+
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 토큰 버킷 스크립트를 Lua 인터프리터에서 실행 (redis.call은 Hash와 TIME만 흉내 냄)
+class RedisRateLimitStoreTest {
+
+    private final LuaRedisTemplate redis = new LuaRedisTemplate();
+
+    private final RedisRateLimitStore store = new RedisRateLimitStore(redis);
+
+    @Test
+    void newBucketStartsFull() {
+
+        assertThat(store.acquire("login-ip:10.0.0.1", 10, 1.0, 4)).isEqualTo(4L);
+        assertThat(store.acquire("login-ip:10.0.0.1", 10, 1.0, 4)).isEqualTo(4L);
+        assertThat(store.acquire("login-ip:10.0.0.1", 10, 1.0, 4)).isEqualTo(2L);
+        assertThat(store.acquire("login-ip:10.0.0.1", 10, 1.0, 4)).isZero();
+
+        assertThat(redis.hashes).containsOnlyKeys("rl:login-ip:10.0.0.1");
+    }
+
+    // 충전량은 Redis TIME 기준 경과 시간으로 계산 (노드 시계는 사용하지 않음)
+    @Test
+    void refillsFromRedisTime() {
+
+        store.acquire("key", 10, 2.0, 10);
+        assertThat(store.acquire("key", 10, 2.0, 10)).isZero();
+
+        redis.advance(2_500);
+        assertThat(store.acquire("key", 10, 2.0, 10)).isEqualTo(5L);
+
+        // 충전 중인 소수 토큰은 다음 호출로 이어짐 (0.75초 → 1.5개, 1개 허용 후 0.5개 남음)
+        redis.advance(750);
+        assertThat(store.acquire("key", 10, 2.0, 10)).isEqualTo(1L);
+        redis.advance(250);
+        assertThat(store.acquire("key", 10, 2.0, 10)).isEqualTo(1L);
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+
+        store.acquire("key", 10, 1.0, 10);
+
+        redis.advance(3_600_000);
+
+        assertThat(store.acquire("key", 10, 1.0, 100)).isEqualTo(10L);
+    }
+
+    // 여러 노드의 시계가 어긋나도 Redis TIME이 뒤로 가지 않는 한 충전량은 음수가 되지 않음
+    @Test
+    void ignoresTimeGoingBackwards() {
+
+        store.acquire("key", 10, 1.0, 5);
+
+        redis.advance(-10_000);
+
+        assertThat(store.acquire("key", 10, 1.0, 10)).isEqualTo(5L);
+    }
+
+    // 가득 찰 때까지 걸리는 시간 뒤 만료
+    @Test
+    void expiresWhenBucketWouldBeFull() {
+
+        store.acquire("key", 10, 0.5, 1);
+
+        assertThat(redis.ttls).containsEntry("rl:key", 20_000L);
+    }
+
+    // StringRedisTemplate 대역 (스크립트를 Lua 인터프리터로 실행)
+    private static class LuaRedisTemplate extends StringRedisTemplate {
+
+        final Map<String, Map<String, String>> hashes = new HashMap<>();
+        final Map<String, Long> ttls = new HashMap<>();
+
+        private long nowMicros = 1_700_000_000_000_000L;
+
+        void advance(long millis) {
+            nowMicros += millis * 1000;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+
+            Globals globals = JsePlatform.standardGlobals();
+            LuaTable redisTable = new LuaTable();
+            redisTable.set("call", new VarArgFunction() {
+                @Override
+                public Varargs invoke(Varargs call) {
+                    return LuaRedisTemplate.this.call(call);
+                }
+            });
+            globals.set("redis", redisTable);
+            globals.set("KEYS", table(keys.toArray()));
+            globals.set("ARGV", table(args));
+
+            LuaValue result = globals.load(script.getScriptAsString()).call();
+
+            // Redis는 Lua 숫자를 정수 응답으로 변환 (소수점 이하 버림)
+            return (T) Long.valueOf(result.tolong());
+        }
+
+        private Varargs call(Varargs call) {
+
+            String command = call.checkjstring(1);
+            String key = call.narg() > 1 ? call.checkjstring(2) : null;
+            switch (command) {
+                case "TIME" -> {
+                    return table(String.valueOf(nowMicros / 1_000_000), String.valueOf(nowMicros % 1_000_000));
+                }
+                case "HMGET" -> {
+                    Map<String, String> hash = hashes.getOrDefault(key, Map.of());
+                    LuaTable values = new LuaTable();
+                    for (int i = 3; i <= call.narg(); i++) {
+                        String value = hash.get(call.checkjstring(i));
+                        values.set(i - 2, value == null ? LuaValue.FALSE : LuaValue.valueOf(value));
+                    }
+                    return values;
+                }
+                case "HSET" -> {
+                    Map<String, String> hash = hashes.computeIfAbsent(key, k -> new HashMap<>());
+                    for (int i = 3; i < call.narg(); i += 2) {
+                        hash.put(call.checkjstring(i), call.arg(i + 1).tojstring());
+                    }
+                    return LuaValue.NIL;
+                }
+                case "PEXPIRE" -> {
+                    ttls.put(key, call.checklong(3));
+                    return LuaValue.ONE;
+                }
+                default -> throw new IllegalArgumentException("unsupported command " + command);
+            }
+        }
+
+        private static LuaTable table(Object... values) {
+
+            LuaTable table = new LuaTable();
+            for (int i = 0; i < values.length; i++) {
+                table.set(i + 1, LuaValue.valueOf(String.valueOf(values[i])));
+            }
+
+            return table;
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenKeysTest {
+
+    private static final String OLD_REFRESH = "old.refresh.token";
+
+    private final TokenPair next = new TokenPair("new.access.token", "new.refresh.token");
+
+    // 회전 기록에는 토큰 원문이 남지 않고, 기존 토큰으로만 복호화됨
+    @Test
+    void encryptsRotationRecordUnderOldToken() {
+
+        byte[] record = RefreshTokenKeys.encodePair(next, OLD_REFRESH);
+        String raw = new String(record, StandardCharsets.ISO_8859_1);
+
+        assertThat(raw).doesNotContain(next.getAccess()).doesNotContain(next.getRefresh());
+
+        TokenPair shared = RefreshTokenKeys.rotationResult(List.of(2L, record), null, OLD_REFRESH);
+        assertThat(shared.getAccess()).isEqualTo(next.getAccess());
+        assertThat(shared.getRefresh()).isEqualTo(next.getRefresh());
+    }
+
+    @Test
+    void rejectsRotationRecordForAnotherToken() {
+
+        byte[] record = RefreshTokenKeys.encodePair(next, OLD_REFRESH);
+
+        assertThat(RefreshTokenKeys.rotationResult(List.of(2L, record), null, "other.refresh.token")).isNull();
+    }
+
+    @Test
+    void usesFreshIvPerRecord() {
+        assertThat(RefreshTokenKeys.encodePair(next, OLD_REFRESH)).isNotEqualTo(RefreshTokenKeys.encodePair(next, OLD_REFRESH));
+    }
+
+    @Test
+    void mapsScriptStatuses() {
+
+        assertThat(RefreshTokenKeys.rotationResult(List.of(1L), next, OLD_REFRESH)).isSameAs(next);
+        assertThat(RefreshTokenKeys.rotationResult(List.of(0L), next, OLD_REFRESH)).isNull();
+        assertThatThrownBy(() -> RefreshTokenKeys.rotationResult(List.of(3L), next, OLD_REFRESH))
+                .isInstanceOf(RefreshTokenReusedException.class);
+    }
+
+    // 기존 키들 + 회전 기록 키 + 재사용 표시 키 + 새 키, 모두 같은 해시 태그
+    @Test
+    void rotateKeysShareHashTag() {
+
+        List<byte[]> keys = RefreshTokenKeys.rotateKeys(OLD_REFRESH, next.getRefresh(), "user1", false);
+
+        assertThat(keys).hasSize(4);
+        assertThat(keys).allSatisfy(key -> assertThat(new String(key, StandardCharsets.ISO_8859_1)).contains("{user1}:"));
+        assertThat(new String(keys.get(1), StandardCharsets.ISO_8859_1)).startsWith("rtr:");
+        assertThat(new String(keys.get(2), StandardCharsets.ISO_8859_1)).startsWith("rtd:");
+    }
+
+}
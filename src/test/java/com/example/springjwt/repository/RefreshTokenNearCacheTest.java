@@ -0,0 +1,305 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenNearCacheTest {
+
+    private static final String USERNAME = "user1";
+
+    private static final String REFRESH = "refresh.token.1";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AuthMetrics authMetrics = new AuthMetrics(registry);
+
+    private final FakeInvalidationSource source = new FakeInvalidationSource();
+
+    // 초기화하지 않은 템플릿 (확인용 키 쓰기는 실패 로그만 남김)
+    private final RefreshTokenNearCache nearCache = new RefreshTokenNearCache(source, new StringRedisTemplate(), authMetrics,
+            true, 1000L, false);
+
+    // Redis를 호출하면 RedisConnectionFailureException (캐시로 응답했는지 확인)
+    private final RedisRefreshTokenStore store = new RedisRefreshTokenStore(unreachableTemplate(), false, authMetrics, 10_000L, nearCache);
+
+    private final String fingerprint = RefreshTokenKeys.fingerprintKey(REFRESH);
+
+    @Test
+    void bypassesCacheUntilTrackingStarts() {
+
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, nearCache.stamp(fingerprint));
+        assertThat(nearCache.get(fingerprint)).isNull();
+
+        nearCache.probe();
+
+        assertThat(source.starts).isEqualTo(1);
+        assertThat(source.prefixes).containsExactly("rt:", "rtr:");
+        assertThat(tracking()).isEqualTo(1.0);
+        assertThat(nearCache.get(fingerprint)).isNull();
+
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, nearCache.stamp(fingerprint));
+        assertThat(nearCache.get(fingerprint)).isEqualTo(RefreshTokenNearCache.State.LIVE);
+    }
+
+    // LIVE : exists()를 메모리에서 응답, delete()는 Redis 호출
+    @Test
+    void liveTokenExistsWithoutRedis() {
+
+        cache(RefreshTokenNearCache.State.LIVE);
+
+        assertThat(store.exists(REFRESH, USERNAME)).isTrue();
+        assertThatThrownBy(() -> store.delete(REFRESH, USERNAME)).isInstanceOf(RedisConnectionFailureException.class);
+        assertThat(requests("exists", "hit")).isEqualTo(1.0);
+        assertThat(requests("delete", "miss")).isEqualTo(1.0);
+    }
+
+    // ABSENT : exists()/delete()는 메모리에서 응답, rotate()는 회전 기록을 확인하러 Redis 호출
+    @Test
+    void absentTokenAnswersExistsAndDeleteButRotatesThroughRedis() {
+
+        cache(RefreshTokenNearCache.State.ABSENT);
+
+        assertThat(store.exists(REFRESH, USERNAME)).isFalse();
+        assertThat(store.delete(REFRESH, USERNAME)).isFalse();
+        assertThatThrownBy(() -> store.rotate(REFRESH, new TokenPair("access", "next.refresh"), USERNAME))
+                .isInstanceOf(RedisConnectionFailureException.class);
+        assertThat(requests("rotate", "miss")).isEqualTo(1.0);
+    }
+
+    // DEAD : rotate()/delete() 모두 메모리에서 거부
+    @Test
+    void deadTokenIsRejectedWithoutRedis() {
+
+        cache(RefreshTokenNearCache.State.DEAD);
+
+        assertThat(store.rotate(REFRESH, new TokenPair("access", "next.refresh"), USERNAME)).isNull();
+        assertThat(store.delete(REFRESH, USERNAME)).isFalse();
+        assertThat(store.exists(REFRESH, USERNAME)).isFalse();
+        assertThat(requests("rotate", "hit")).isEqualTo(1.0);
+    }
+
+    // REUSED : rotate()는 메모리에서 재사용으로 거부
+    @Test
+    void reusedTokenIsReportedWithoutRedis() {
+
+        cache(RefreshTokenNearCache.State.REUSED);
+
+        assertThatThrownBy(() -> store.rotate(REFRESH, new TokenPair("access", "next.refresh"), USERNAME))
+                .isInstanceOf(RefreshTokenReusedException.class);
+        assertThat(store.delete(REFRESH, USERNAME)).isFalse();
+        assertThat(requests("rotate", "hit")).isEqualTo(1.0);
+    }
+
+    // 다른 노드의 쓰기로 무효화 메시지를 받으면 상태를 지우고 다음 호출은 Redis 확인
+    @Test
+    void invalidationMessageRemovesState() {
+
+        cache(RefreshTokenNearCache.State.LIVE);
+
+        source.listener.onInvalidate(List.of(RefreshTokenKeys.key(REFRESH, USERNAME)));
+
+        assertThat(nearCache.get(fingerprint)).isNull();
+        assertThat(registry.get("auth.refresh.near_cache.invalidations").counter().count()).isEqualTo(1.0);
+        assertThatThrownBy(() -> store.exists(REFRESH, USERNAME)).isInstanceOf(RedisConnectionFailureException.class);
+    }
+
+    // Redis 호출 중에 무효화 메시지를 받았으면 호출 전에 읽은 stamp로는 저장하지 않음
+    @Test
+    void staleStampIsNotStored() {
+
+        nearCache.probe();
+        long stamp = nearCache.stamp(fingerprint);
+
+        source.listener.onInvalidate(List.of(RefreshTokenKeys.key(REFRESH, USERNAME)));
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, stamp);
+
+        assertThat(nearCache.get(fingerprint)).isNull();
+
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, nearCache.stamp(fingerprint));
+        assertThat(nearCache.get(fingerprint)).isEqualTo(RefreshTokenNearCache.State.LIVE);
+    }
+
+    // 다른 구간 토큰의 무효화 메시지는 진행 중인 호출의 저장을 막지 않음
+    @Test
+    void stampsAreKeptPerStripe() {
+
+        nearCache.probe();
+        String other = otherStripeRefresh();
+        long stamp = nearCache.stamp(fingerprint);
+
+        source.listener.onInvalidate(List.of(RefreshTokenKeys.key(other, USERNAME)));
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, stamp);
+
+        assertThat(nearCache.stamp(fingerprint)).isEqualTo(stamp);
+        assertThat(nearCache.get(fingerprint)).isEqualTo(RefreshTokenNearCache.State.LIVE);
+    }
+
+    // FLUSHALL/FLUSHDB : 모든 상태와 진행 중인 호출의 stamp 무효화
+    @Test
+    void flushInvalidatesEverything() {
+
+        cache(RefreshTokenNearCache.State.LIVE);
+        long stamp = nearCache.stamp(fingerprint);
+
+        source.listener.onInvalidate(null);
+
+        assertThat(nearCache.get(fingerprint)).isNull();
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, stamp);
+        assertThat(nearCache.get(fingerprint)).isNull();
+    }
+
+    // 추적 연결이 끊기면 캐시를 비우고 사용하지 않으며, 다시 켠 뒤에도 끊기기 전에 읽은 stamp로는 저장하지 않음
+    @Test
+    void disconnectClearsCacheUntilTrackingRestarts() {
+
+        cache(RefreshTokenNearCache.State.LIVE);
+        long stamp = nearCache.stamp(fingerprint);
+
+        source.listener.onDisconnected();
+
+        assertThat(tracking()).isZero();
+        assertThat(nearCache.get(fingerprint)).isNull();
+        assertThat(nearCache.trackedCommands()).isNull();
+        assertThatThrownBy(() -> store.exists(REFRESH, USERNAME)).isInstanceOf(RedisConnectionFailureException.class);
+        assertThat(requests("exists", "bypass")).isEqualTo(1.0);
+
+        nearCache.probe();
+
+        assertThat(source.starts).isEqualTo(2);
+        assertThat(tracking()).isEqualTo(1.0);
+        assertThat(nearCache.get(fingerprint)).isNull();
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, stamp);
+        assertThat(nearCache.get(fingerprint)).isNull();
+    }
+
+    // RESP3가 아닌 서버 등 추적을 지원하지 않으면 한 번만 확인하고 이후 probe()는 아무것도 하지 않음
+    @Test
+    void unsupportedServerDisablesNearCacheOnce() {
+
+        source.supported = false;
+
+        nearCache.probe();
+        nearCache.probe();
+        nearCache.probe();
+
+        assertThat(source.starts).isEqualTo(1);
+        assertThat(tracking()).isZero();
+        nearCache.put(fingerprint, RefreshTokenNearCache.State.LIVE, nearCache.stamp(fingerprint));
+        assertThat(nearCache.get(fingerprint)).isNull();
+    }
+
+    // 연결 실패 등 일시적인 실패는 다음 probe()에서 다시 시도
+    @Test
+    void retriesAfterTransientStartFailure() {
+
+        source.failures = 2;
+
+        nearCache.probe();
+        nearCache.probe();
+        assertThat(tracking()).isZero();
+
+        nearCache.probe();
+
+        assertThat(source.starts).isEqualTo(3);
+        assertThat(tracking()).isEqualTo(1.0);
+    }
+
+    private static RedisTemplate<byte[], byte[]> unreachableTemplate() {
+
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("no redis in this test"));
+
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.byteArray());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+
+        return redisTemplate;
+    }
+
+    private void cache(RefreshTokenNearCache.State state) {
+
+        nearCache.probe();
+        nearCache.put(fingerprint, state, nearCache.stamp(fingerprint));
+        assertThat(nearCache.get(fingerprint)).isEqualTo(state);
+    }
+
+    private String otherStripeRefresh() {
+
+        int stripe = RefreshTokenNearCache.stripe(fingerprint);
+        for (int i = 0; ; i++) {
+            String candidate = "other.refresh." + i;
+            if (RefreshTokenNearCache.stripe(RefreshTokenKeys.fingerprintKey(candidate)) != stripe) {
+                return candidate;
+            }
+        }
+    }
+
+    private double tracking() {
+        return registry.get("auth.refresh.near_cache.tracking").gauge().value();
+    }
+
+    private double requests(String operation, String result) {
+        return registry.get("auth.refresh.near_cache.requests").tag("operation", operation).tag("result", result).counter().count();
+    }
+
+    // 무효화 메시지 공급원 대역 (메시지/연결 끊김은 테스트에서 listener를 직접 호출)
+    private static class FakeInvalidationSource implements InvalidationSource {
+
+        final List<String> prefixes = new ArrayList<>();
+
+        volatile Listener listener;
+        volatile boolean supported = true;
+        volatile int failures;
+        volatile int starts;
+
+        @Override
+        public boolean start(List<String> prefixes, Listener listener) {
+
+            starts++;
+            if (failures > 0) {
+                failures--;
+                throw new RedisConnectionException("injected failure");
+            }
+            if (!supported) {
+                return false;
+            }
+
+            this.prefixes.clear();
+            this.prefixes.addAll(prefixes);
+            this.listener = listener;
+
+            return true;
+        }
+
+        // 추적 연결 없음 (쓰기는 RedisTemplate으로 감)
+        @Override
+        public RedisCommands<byte[], byte[]> commands() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,360 @@
+package com.example.springjwt.repository;
+
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientRefreshTokenStoreTest {
+
+    private static final String USERNAME = "user1";
+
+    private static final long LONG_OPEN_MS = 600_000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final FlakyRefreshTokenStore redis = new FlakyRefreshTokenStore();
+
+    // 호출 하나만 실패해도 열리는 브레이커 (openMs가 0이면 다음 호출이 바로 시험 호출)
+    private ResilientRefreshTokenStore store(long openMs, boolean fallbackEnabled, boolean trustUnknown, int maxSize) {
+        return new ResilientRefreshTokenStore(redis, new AuthMetrics(registry), 2, 1, 0.5, 10_000L, openMs,
+                fallbackEnabled, trustUnknown, maxSize);
+    }
+
+    private double circuitState() {
+        return registry.get("auth.refresh.store.circuit").gauge().value();
+    }
+
+    private double fallbacks(String operation) {
+        return registry.get("auth.refresh.store.fallback").tag("operation", operation).counter().count();
+    }
+
+    @Test
+    void delegatesWhileRedisIsHealthy() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, true, false, 100);
+
+        store.save("a", USERNAME);
+        TokenPair next = new TokenPair("access-b", "b");
+
+        assertThat(store.exists("a", USERNAME)).isTrue();
+        assertThat(store.rotate("a", next, USERNAME)).isSameAs(next);
+        assertThat(store.delete("b", USERNAME)).isTrue();
+        assertThat(redis.operations).containsExactly("save:a", "exists:a", "rotate:a>b", "delete:b");
+        assertThat(circuitState()).isZero();
+    }
+
+    // 장애 중 로컬 저장소 처리 (trust-unknown=false : 장애 전에 발급된 토큰은 거부)
+    @Test
+    void fallsBackLocallyAndRejectsUnknownTokens() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, true, false, 100);
+        redis.tokens.put("old", USERNAME);
+        redis.failing = true;
+
+        store.save("a", USERNAME);
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+
+        assertThat(store.exists("a", USERNAME)).isTrue();
+        assertThat(store.exists("old", USERNAME)).isFalse();
+        assertThat(store.rotate("old", new TokenPair("access-x", "x"), USERNAME)).isNull();
+        assertThat(store.delete("old", USERNAME)).isFalse();
+
+        TokenPair next = new TokenPair("access-b", "b");
+        assertThat(store.rotate("a", next, USERNAME)).isSameAs(next);
+        assertThat(store.exists("a", USERNAME)).isFalse();
+        assertThat(store.exists("b", USERNAME)).isTrue();
+        assertThat(store.rotate("a", new TokenPair("access-c", "c"), USERNAME)).isNull();
+
+        assertThat(store.delete("b", USERNAME)).isTrue();
+        assertThat(store.exists("b", USERNAME)).isFalse();
+        assertThat(store.delete("b", USERNAME)).isFalse();
+
+        assertThat(fallbacks("save")).isEqualTo(1.0);
+        assertThat(fallbacks("exists")).isEqualTo(1.0);
+        assertThat(fallbacks("rotate")).isEqualTo(1.0);
+        assertThat(fallbacks("delete")).isEqualTo(1.0);
+        assertThat(redis.operations).isEmpty();
+    }
+
+    // trust-unknown=true : 장애 전에 발급된 토큰도 허용하고 로컬에서 회전/삭제
+    @Test
+    void trustsUnknownTokensWhenConfigured() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, true, true, 100);
+        redis.failing = true;
+
+        assertThat(store.exists("old", USERNAME)).isTrue();
+
+        TokenPair next = new TokenPair("access-b", "b");
+        assertThat(store.rotate("old", next, USERNAME)).isSameAs(next);
+        assertThat(store.exists("old", USERNAME)).isFalse();
+        assertThat(store.rotate("old", new TokenPair("access-c", "c"), USERNAME)).isNull();
+
+        assertThat(store.delete("other", USERNAME)).isTrue();
+        assertThat(store.exists("other", USERNAME)).isFalse();
+    }
+
+    @Test
+    void failsFastWithoutFallback() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, false, false, 100);
+        redis.failing = true;
+
+        assertThatThrownBy(() -> store.exists("a", USERNAME)).isInstanceOf(QueryTimeoutException.class);
+        assertThatThrownBy(() -> store.exists("a", USERNAME)).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(redis.attempts).isEqualTo(1);
+    }
+
+    // 복구 후 장애 중의 변경 사항을 발생 순서대로 반영 (회전은 삭제 후 저장)
+    @Test
+    void replaysWritesInOrderAfterRecovery() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 100);
+        redis.failing = true;
+
+        store.save("a", USERNAME);
+        store.rotate("a", new TokenPair("access-b", "b"), USERNAME);
+        store.save("c", USERNAME);
+        store.delete("c", USERNAME);
+
+        redis.failing = false;
+        store.reconcile();
+
+        assertThat(redis.operations).containsExactly("save:a", "delete:a", "save:b", "save:c", "delete:c");
+        assertThat(redis.tokens).containsOnlyKeys("b");
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    // 반영 중 다시 실패하면 남은 변경 사항은 다음 반영까지 유지
+    @Test
+    void keepsPendingWritesWhenReplayFails() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 100);
+        redis.failing = true;
+        store.save("a", USERNAME);
+        store.save("b", USERNAME);
+
+        redis.failAfter = 1;
+        redis.failing = false;
+        store.reconcile();
+        assertThat(redis.operations).containsExactly("save:a");
+
+        redis.failAfter = -1;
+        store.reconcile();
+        assertThat(redis.operations).containsExactly("save:a", "save:b");
+    }
+
+    // 대기열이 가득 차면 가장 오래된 변경 사항부터 버림
+    @Test
+    void dropsOldestWritesWhenQueueOverflows() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 2);
+        redis.failing = true;
+
+        store.save("a", USERNAME);
+        store.save("b", USERNAME);
+        store.save("c", USERNAME);
+        assertThat(registry.get("auth.refresh.store.pending").gauge().value()).isEqualTo(2.0);
+
+        redis.failing = false;
+        store.reconcile();
+
+        assertThat(redis.operations).containsExactly("save:b", "save:c");
+        assertThat(redis.tokens).containsOnlyKeys("b", "c");
+    }
+
+    // 장애 중에 삭제/회전된 토큰은 Redis에 반영되기 전이나 후에도 다시 허용되지 않음
+    @Test
+    void keepsLocallyRevokedTokensRejectedAfterRecovery() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 100);
+        redis.tokens.put("old", USERNAME);
+        redis.tokens.put("rotated", USERNAME);
+        redis.failing = true;
+
+        store.delete("old", USERNAME);
+        store.save("a", USERNAME);
+        store.rotate("a", new TokenPair("access-b", "b"), USERNAME);
+
+        // 복구 직후 반영 전 (Redis에는 old가 아직 있음)
+        redis.failing = false;
+        assertThat(store.exists("old", USERNAME)).isFalse();
+        assertThat(store.rotate("old", new TokenPair("access-x", "x"), USERNAME)).isNull();
+        assertThat(store.exists("a", USERNAME)).isFalse();
+
+        store.reconcile();
+
+        assertThat(redis.tokens).doesNotContainKeys("old", "a").containsKey("b");
+        assertThat(store.exists("old", USERNAME)).isFalse();
+        assertThat(store.delete("old", USERNAME)).isFalse();
+        assertThat(store.rotate("a", new TokenPair("access-y", "y"), USERNAME)).isNull();
+        assertThat(store.exists("b", USERNAME)).isTrue();
+        assertThat(store.exists("rotated", USERNAME)).isTrue();
+    }
+
+    // 세션 목록의 폐기 요청도 브레이커를 거침 (정상일 때는 Redis에서 삭제)
+    @Test
+    void revokesSessionsThroughRedisWhileHealthy() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, true, false, 100);
+        redis.tokens.put("a", USERNAME);
+        redis.tokens.put("b", USERNAME);
+
+        assertThat(store.revoke(USERNAME, List.of(sessionId("a"), sessionId("x")))).isEqualTo(1L);
+
+        assertThat(redis.tokens).containsOnlyKeys("b");
+        assertThat(redis.operations).containsExactly("revoke:" + sessionId("a") + "," + sessionId("x"));
+    }
+
+    // 장애 중 로컬에서 발급된 토큰을 세션 ID로 폐기하면 로컬 저장소에서도 제거되고, 삭제는 복구 후 반영
+    @Test
+    void revokesLocallyIssuedTokensDuringOutage() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 100);
+        redis.failing = true;
+        store.save("a", USERNAME);
+        assertThat(store.exists("a", USERNAME)).isTrue();
+
+        assertThat(store.revoke(USERNAME, List.of(sessionId("a")))).isEqualTo(1L);
+
+        assertThat(store.exists("a", USERNAME)).isFalse();
+        assertThat(store.rotate("a", new TokenPair("access-b", "b"), USERNAME)).isNull();
+        assertThat(store.delete("a", USERNAME)).isFalse();
+
+        redis.failing = false;
+        store.reconcile();
+
+        assertThat(redis.operations).containsExactly("save:a", "revoke:" + sessionId("a"));
+        assertThat(redis.tokens).isEmpty();
+        assertThat(store.exists("a", USERNAME)).isFalse();
+    }
+
+    // 장애 전에 발급된 토큰을 장애 중에 폐기하면 복구 직후 반영 전에도 거부
+    @Test
+    void keepsTokensRevokedDuringOutageRejected() {
+
+        ResilientRefreshTokenStore store = store(0L, true, false, 100);
+        redis.tokens.put("old", USERNAME);
+        redis.failing = true;
+
+        assertThat(store.revoke(USERNAME, List.of(sessionId("old")))).isZero();
+        assertThat(fallbacks("revoke")).isEqualTo(1.0);
+
+        redis.failing = false;
+        assertThat(store.exists("old", USERNAME)).isFalse();
+        assertThat(store.rotate("old", new TokenPair("access-x", "x"), USERNAME)).isNull();
+
+        store.reconcile();
+
+        assertThat(redis.tokens).doesNotContainKey("old");
+        assertThat(store.exists("old", USERNAME)).isFalse();
+    }
+
+    private static String sessionId(String refresh) {
+        return RefreshTokenKeys.sessionId(refresh);
+    }
+
+    // 유예 시간이 지난 재사용은 Redis의 정상 응답이므로 브레이커를 열지 않고 대체 모드로 처리하지 않음
+    @Test
+    void passesReuseThroughWithoutOpeningCircuit() {
+
+        ResilientRefreshTokenStore store = store(LONG_OPEN_MS, true, true, 100);
+        redis.reused = true;
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> store.rotate("old", new TokenPair("access-b", "b"), USERNAME))
+                    .isInstanceOf(RefreshTokenReusedException.class);
+        }
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+        assertThat(registry.find("auth.refresh.store.fallback").counter()).isNull();
+    }
+
+    // Redis 대역 (failing이면 Lettuce 명령 타임아웃과 같은 예외로 실패, 성공한 명령만 순서대로 기록)
+    private static class FlakyRefreshTokenStore implements RefreshTokenStore {
+
+        final Map<String, String> tokens = new ConcurrentHashMap<>();
+        final List<String> operations = new ArrayList<>();
+
+        volatile boolean failing;
+        volatile boolean reused;
+
+        // 0 이상이면 성공한 명령이 이 수에 도달한 뒤부터 실패
+        volatile int failAfter = -1;
+
+        int attempts;
+
+        @Override
+        public void save(String refresh, String username) {
+
+            check("save:" + refresh);
+            tokens.put(refresh, username);
+        }
+
+        @Override
+        public boolean exists(String refresh, String username) {
+
+            check("exists:" + refresh);
+            return tokens.containsKey(refresh);
+        }
+
+        @Override
+        public boolean delete(String refresh, String username) {
+
+            check("delete:" + refresh);
+            return tokens.remove(refresh) != null;
+        }
+
+        @Override
+        public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+            check("rotate:" + oldRefresh + ">" + next.getRefresh());
+            if (reused) {
+                throw new RefreshTokenReusedException();
+            }
+            if (tokens.remove(oldRefresh) == null) {
+                return null;
+            }
+            tokens.put(next.getRefresh(), username);
+
+            return next;
+        }
+
+        @Override
+        public long revoke(String username, Collection<String> sessionIds) {
+
+            check("revoke:" + String.join(",", sessionIds));
+            long revoked = 0L;
+            for (String refresh : List.copyOf(tokens.keySet())) {
+                if (sessionIds.contains(RefreshTokenKeys.sessionId(refresh)) && tokens.remove(refresh) != null) {
+                    revoked++;
+                }
+            }
+
+            return revoked;
+        }
+
+        private void check(String operation) {
+
+            attempts++;
+            if (failing || (failAfter >= 0 && operations.size() >= failAfter)) {
+                throw new QueryTimeoutException("injected failure: " + operation);
+            }
+            operations.add(operation);
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.example.springjwt.security;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AuthRateLimiterTest {
+
+    private static final String UNAVAILABLE_LOG = "rate limit store unavailable";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final FakeRateLimitStore store = new FakeRateLimitStore();
+
+    private final MockEnvironment environment = new MockEnvironment();
+
+    private AuthRateLimiter limiter(long lease, long expectedNodes) {
+        return new AuthRateLimiter(store, new AuthMetrics(registry), environment, true, lease, expectedNodes, 1000L);
+    }
+
+    // IP 제한 lease : min(lease, 용량 / expected-nodes)
+    @Test
+    void ipLeaseIsBoundedByCapacityShare() {
+
+        environment.setProperty("spring.rate-limit.login-ip.capacity", "8");
+        AuthRateLimiter limiter = limiter(5L, 4L);
+
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        limiter.acquire(RateLimit.REISSUE_IP, "10.0.0.1");
+
+        assertThat(store.requests).containsExactly("login-ip:10.0.0.1:8:1.0:2", "reissue-ip:10.0.0.1:60:2.0:5");
+    }
+
+    // 노드 수가 용량보다 많아도 최소 1개
+    @Test
+    void ipLeaseIsAtLeastOne() {
+
+        AuthRateLimiter limiter = limiter(5L, 100L);
+
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+
+        assertThat(store.requests).containsExactly("login-ip:10.0.0.1:20:1.0:1");
+    }
+
+    // username 제한은 lease 설정과 관계없이 항상 1개씩
+    @Test
+    void usernameLeaseIsAlwaysOne() {
+
+        AuthRateLimiter limiter = limiter(5L, 1L);
+
+        limiter.acquire(RateLimit.LOGIN_USERNAME, "user1");
+        limiter.acquire(RateLimit.REISSUE_USERNAME, "user1");
+
+        assertThat(store.requests).containsExactly("login-username:user1:10:0.1:1", "reissue-username:user1:10:0.2:1");
+    }
+
+    // 미리 꺼낸 토큰을 다 쓸 때까지 저장소를 호출하지 않음
+    @Test
+    void usesLeasedTokensLocally() {
+
+        AuthRateLimiter limiter = limiter(5L, 4L);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        }
+        assertThat(store.requests).hasSize(1);
+
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        assertThat(store.requests).hasSize(2);
+    }
+
+    // 저장소가 일부만 내주면 받은 만큼만 로컬에서 사용
+    @Test
+    void usesOnlyGrantedTokens() {
+
+        AuthRateLimiter limiter = limiter(5L, 4L);
+        store.grants.add(2L);
+
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        assertThat(store.requests).hasSize(1);
+
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        assertThat(store.requests).hasSize(2);
+    }
+
+    // 버킷이 비어 있으면 거부하고, 토큰 하나가 충전될 때까지는 저장소를 호출하지 않고 거부
+    @Test
+    void rejectsLocallyUntilNextRefill() {
+
+        AuthRateLimiter limiter = limiter(5L, 4L);
+        store.grants.add(0L);
+
+        assertThatThrownBy(() -> limiter.acquire(RateLimit.LOGIN_USERNAME, "user1"))
+                .isInstanceOfSatisfying(RateLimitedException.class, e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(10L));
+        assertThatThrownBy(() -> limiter.acquire(RateLimit.LOGIN_USERNAME, "user1"))
+                .isInstanceOf(RateLimitedException.class);
+
+        assertThat(store.requests).hasSize(1);
+        assertThat(registry.get("auth.rate_limited").tag("flow", "login").tag("dimension", "username").counter().count())
+                .isEqualTo(2.0);
+
+        // 다른 키는 영향 없음
+        limiter.acquire(RateLimit.LOGIN_USERNAME, "user2");
+    }
+
+    // 저장소 장애 시 허용, 경고 로그는 장애 시작 시 한 번만 (복구 시 한 번)
+    @Test
+    void failsOpenAndLogsOnceWhenStoreFails(CapturedOutput output) {
+
+        AuthRateLimiter limiter = limiter(1L, 4L);
+        store.failing = true;
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+            limiter.acquire(RateLimit.REISSUE_USERNAME, "user1");
+        }
+
+        assertThat(registry.get("auth.rate_limit.fail_open").tag("flow", "login").counter().count()).isEqualTo(3.0);
+        assertThat(registry.get("auth.rate_limit.fail_open").tag("flow", "reissue").counter().count()).isEqualTo(3.0);
+        assertThat(occurrences(output.getOut(), UNAVAILABLE_LOG)).isEqualTo(1);
+
+        store.failing = false;
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        limiter.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+
+        assertThat(occurrences(output.getOut(), "rate limit store recovered")).isEqualTo(1);
+        assertThat(occurrences(output.getOut(), UNAVAILABLE_LOG)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNothingWhenDisabledOrIdMissing() {
+
+        AuthRateLimiter disabled = new AuthRateLimiter(store, new AuthMetrics(registry), environment, false, 5L, 4L, 1000L);
+        disabled.acquire(RateLimit.LOGIN_IP, "10.0.0.1");
+        limiter(5L, 4L).acquire(RateLimit.LOGIN_USERNAME, null);
+
+        assertThat(store.requests).isEmpty();
+    }
+
+    private static int occurrences(String text, String fragment) {
+
+        int count = 0;
+        for (int index = text.indexOf(fragment); index >= 0; index = text.indexOf(fragment, index + fragment.length())) {
+            count++;
+        }
+
+        return count;
+    }
+
+    // 요청 제한 저장소 대역 (호출을 "{key}:{capacity}:{refill}:{requested}"로 기록, grants가 비어 있으면 요청한 만큼 허용)
+    private static class FakeRateLimitStore implements RateLimitStore {
+
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        final Deque<Long> grants = new ArrayDeque<>();
+
+        volatile boolean failing;
+
+        @Override
+        public long acquire(String key, long capacity, double refillPerSecond, long requested) {
+
+            if (failing) {
+                throw new QueryTimeoutException("injected timeout");
+            }
+            requests.add(key + ":" + capacity + ":" + refillPerSecond + ":" + requested);
+
+            Long granted = grants.poll();
+            return granted == null ? requested : granted;
+        }
+
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.example.springjwt.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccessTokenDenylistTest {
+
+    private static final long MINUTE_MS = 60_000L;
+
+    private final FakeRedisTemplate redis = new FakeRedisTemplate();
+
+    // Bloom 필터 크기를 작게 잡아 "있을 수도 있음" 응답이 자주 나오게 함 (정확한 목록 확인 경로)
+    private AccessTokenDenylist denylist(int expectedInsertions) {
+        return new AccessTokenDenylist(redis, mock(RedisMessageListenerContainer.class), expectedInsertions, 0.01);
+    }
+
+    @Test
+    void revokedTokensAreReportedUntilTheyExpire() {
+
+        AccessTokenDenylist denylist = denylist(100);
+        long expiration = System.currentTimeMillis() + MINUTE_MS;
+
+        assertThat(denylist.revoke("jti-1", expiration)).isTrue();
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+        assertThat(denylist.isRevoked("jti-2")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+        assertThat(redis.published).containsExactly("jti-1:" + expiration);
+    }
+
+    // Bloom 필터가 "있을 수도 있음"이라고 답해도 정확한 목록에 없으면 폐기되지 않은 토큰
+    @Test
+    void exactListRejectsBloomFilterFalsePositives() {
+
+        AccessTokenDenylist denylist = denylist(10);
+        long expiration = System.currentTimeMillis() + MINUTE_MS;
+        for (int i = 0; i < 1000; i++) {
+            denylist.revoke("revoked-" + i, expiration);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(denylist.isRevoked("revoked-" + i)).isTrue();
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(denylist.isRevoked("active-" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void ignoresTokensThatAlreadyExpired() {
+
+        AccessTokenDenylist denylist = denylist(100);
+
+        denylist.revoke("jti-1", System.currentTimeMillis() - 1);
+
+        assertThat(denylist.isRevoked("jti-1")).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    // Redis에 등록하지 못해도 이 노드에서는 폐기되고 예외를 던지지 않음 (로그아웃은 정상 응답)
+    @Test
+    void keepsLocalRevocationWhenRedisFails() {
+
+        AccessTokenDenylist denylist = denylist(100);
+        redis.failing = true;
+
+        assertThat(denylist.revoke("jti-1", System.currentTimeMillis() + MINUTE_MS)).isFalse();
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+        assertThat(redis.published).isEmpty();
+    }
+
+    @Test
+    void rebuildPrunesExpiredEntries() throws InterruptedException {
+
+        AccessTokenDenylist denylist = denylist(100);
+        long now = System.currentTimeMillis();
+        denylist.revoke("short", now + 50);
+        denylist.revoke("long", now + MINUTE_MS);
+        assertThat(denylist.size()).isEqualTo(2);
+
+        Thread.sleep(100);
+        denylist.rebuild();
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked("short")).isFalse();
+        assertThat(denylist.isRevoked("long")).isTrue();
+    }
+
+    // 재구성 시 Redis의 목록을 읽고, 기대 항목 수보다 많아져도 모두 유지
+    @Test
+    void rebuildLoadsEntriesFromRedis() {
+
+        AccessTokenDenylist denylist = denylist(10);
+        long expiration = System.currentTimeMillis() + MINUTE_MS;
+        for (int i = 0; i < 100; i++) {
+            redis.entries.add(ZSetOperations.TypedTuple.of("remote-" + i, (double) expiration));
+        }
+
+        denylist.rebuild();
+
+        assertThat(denylist.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(denylist.isRevoked("remote-" + i)).isTrue();
+        }
+    }
+
+    // Redis를 읽지 못해도 pub/sub으로 받은 항목은 유지
+    @Test
+    void rebuildKeepsLocalEntriesWhenRedisFails() {
+
+        AccessTokenDenylist denylist = denylist(100);
+        denylist.revoke("jti-1", System.currentTimeMillis() + MINUTE_MS);
+        redis.failing = true;
+
+        denylist.rebuild();
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void onMessageAddsRevocationFromOtherNodes() {
+
+        AccessTokenDenylist denylist = denylist(100);
+        long expiration = System.currentTimeMillis() + MINUTE_MS;
+
+        denylist.onMessage(message("jti-1:" + expiration), null);
+        // jti에 구분자가 있어도 마지막 구분자 뒤를 만료 시각으로 사용
+        denylist.onMessage(message("tenant:jti-2:" + expiration), null);
+
+        assertThat(denylist.isRevoked("jti-1")).isTrue();
+        assertThat(denylist.isRevoked("tenant:jti-2")).isTrue();
+        assertThat(denylist.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onMessageIgnoresMalformedOrExpiredMessages() {
+
+        AccessTokenDenylist denylist = denylist(100);
+
+        denylist.onMessage(message("no-separator"), null);
+        denylist.onMessage(message(":" + (System.currentTimeMillis() + MINUTE_MS)), null);
+        denylist.onMessage(message("jti-1:not-a-number"), null);
+        denylist.onMessage(message("jti-2:" + (System.currentTimeMillis() - 1)), null);
+
+        assertThat(denylist.size()).isZero();
+        assertThat(denylist.isRevoked("jti-1")).isFalse();
+        assertThat(denylist.isRevoked("jti-2")).isFalse();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("denylist:access".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Redis 대역 (failing이면 연결 실패, 등록 스크립트 호출은 발행된 메시지로 기록)
+    private static class FakeRedisTemplate extends StringRedisTemplate {
+
+        final Set<ZSetOperations.TypedTuple<String>> entries = new HashSet<>();
+        final List<String> published = new ArrayList<>();
+
+        volatile boolean failing;
+
+        @SuppressWarnings("unchecked")
+        private final ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+
+        FakeRedisTemplate() {
+
+            when(zSet.rangeByScoreWithScores(anyString(), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+                check();
+                return entries;
+            });
+        }
+
+        @Override
+        public ZSetOperations<String, String> opsForZSet() {
+            return zSet;
+        }
+
+        // 인자 : jti, 만료 시각, 현재 시각, 채널
+        @Override
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+
+            check();
+            published.add(args[0] + ":" + args[1]);
+            return null;
+        }
+
+        private void check() {
+
+            if (failing) {
+                throw new RedisConnectionFailureException("injected failure");
+            }
+        }
+
+    }
+
+}
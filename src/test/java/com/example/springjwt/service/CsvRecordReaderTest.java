@@ -0,0 +1,103 @@
+package com.example.springjwt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    private static List<String[]> read(String csv) throws IOException {
+
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+
+        return records;
+    }
+
+    @Test
+    void readsPlainRecords() throws IOException {
+
+        List<String[]> records = read("user1,pw1\nuser2,pw2,ROLE_ADMIN\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly("user1", "pw1");
+        assertThat(records.get(1)).containsExactly("user2", "pw2", "ROLE_ADMIN");
+    }
+
+    // 큰따옴표로 감싼 필드 안의 쉼표, 큰따옴표(""), 줄바꿈은 값
+    @Test
+    void readsQuotedFields() throws IOException {
+
+        List<String[]> records = read("user1,\"p,a\"\"ss\"\r\n\"user2\",\"two\nlines\",ROLE_USER");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly("user1", "p,a\"ss");
+        assertThat(records.get(1)).containsExactly("user2", "two\nlines", "ROLE_USER");
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+
+        assertThat(read("user1,,\n").get(0)).containsExactly("user1", "", "");
+        assertThat(read("user1,\"\"\n").get(0)).containsExactly("user1", "");
+    }
+
+    @Test
+    void acceptsAllLineEndingsAndSkipsBom() throws IOException {
+
+        List<String[]> records = read("\uFEFFusername,password\ruser1,pw1\r\nuser2,pw2");
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0)).containsExactly("username", "password");
+        assertThat(records.get(1)).containsExactly("user1", "pw1");
+        assertThat(records.get(2)).containsExactly("user2", "pw2");
+    }
+
+    // 감싸지 않은 필드 중간의 큰따옴표는 값
+    @Test
+    void treatsQuoteInsideUnquotedFieldAsText() throws IOException {
+        assertThat(read("user1,pa\"ss\n").get(0)).containsExactly("user1", "pa\"ss");
+    }
+
+    // 닫는 큰따옴표 뒤에 문자가 있으면 그 레코드만 형식 오류
+    @Test
+    void rejectsTextAfterClosingQuote() throws IOException {
+
+        List<String[]> records = read("user1,\"pw\"x\nuser2,pw2\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).isSameAs(CsvRecordReader.MALFORMED);
+        assertThat(records.get(1)).containsExactly("user2", "pw2");
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+
+        List<String[]> records = read("user1,pw1\nuser2,\"pw2\nuser3,pw3\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly("user1", "pw1");
+        assertThat(records.get(1)).isSameAs(CsvRecordReader.MALFORMED);
+    }
+
+    // 너무 긴 레코드는 형식 오류 (다음 레코드는 정상 처리)
+    @Test
+    void rejectsOversizedRecord() throws IOException {
+
+        List<String[]> records = read("user1," + "x".repeat(10_000) + "\nuser2,pw2\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).isSameAs(CsvRecordReader.MALFORMED);
+        assertThat(records.get(1)).containsExactly("user2", "pw2");
+    }
+
+}
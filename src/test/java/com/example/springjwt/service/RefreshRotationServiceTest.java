@@ -0,0 +1,260 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.dto.RefreshSessionPage;
+import com.example.springjwt.dto.TokenPair;
+import com.example.springjwt.jwt.JWTUtil;
+import com.example.springjwt.jwt.JwtKeyRing;
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.RefreshSessionStore;
+import com.example.springjwt.repository.RefreshTokenReusedException;
+import com.example.springjwt.repository.RefreshTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshRotationServiceTest {
+
+    private static final String SECRET = "vmfhaltmskdlstkfkdgodyroqkfwkdbalroqkfwkdbalaaaaaaaaaaaaaaaabbbbb";
+
+    private static final String USERNAME = "user1";
+
+    private static final long GRACE_MS = 300L;
+
+    private static final int THREADS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AuthMetrics authMetrics = new AuthMetrics(registry);
+
+    private final SlowRefreshTokenStore store = new SlowRefreshTokenStore();
+
+    private final CountingRefreshSessionStore sessions = new CountingRefreshSessionStore();
+
+    private final RefreshRotationService service = new RefreshRotationService(
+            new JWTUtil(SECRET, new JwtKeyRing(null, null, 0L), authMetrics), store, authMetrics,
+            new RefreshSessionService(sessions, authMetrics, 100), GRACE_MS);
+
+    // 같은 토큰으로 동시에 들어온 재발급 요청은 저장소를 한 번만 호출하고 모두 같은 토큰 쌍을 받음
+    @Test
+    void concurrentRotationsOfSameTokenShareOneResult() throws Exception {
+
+        store.tokens.add("old");
+        List<TokenPair> pairs = rotateConcurrently("old");
+
+        assertThat(store.rotateCalls.get()).isEqualTo(1);
+        assertThat(pairs).hasSize(THREADS).doesNotContainNull();
+        assertThat(pairs).allSatisfy(pair -> assertThat(pair).isSameAs(pairs.get(0)));
+        assertThat(sessions.replaced).containsExactly("old>" + pairs.get(0).getRefresh());
+        assertThat(coalesced()).isEqualTo(THREADS - 1);
+    }
+
+    // 유예 시간 안에 다시 들어온 요청은 저장소 호출 없이 같은 토큰 쌍을 받음
+    @Test
+    void retryWithinGraceWindowReturnsSamePair() {
+
+        store.tokens.add("old");
+        store.release.countDown();
+
+        TokenPair first = service.rotate("old", USERNAME, "ROLE_USER", 0L);
+        TokenPair retry = service.rotate("old", USERNAME, "ROLE_USER", 0L);
+
+        assertThat(retry).isSameAs(first);
+        assertThat(store.rotateCalls.get()).isEqualTo(1);
+    }
+
+    // 유예 시간이 지난 뒤 같은 토큰을 다시 사용하면 저장소가 판단한 재사용을 그대로 전달
+    @Test
+    void rotationAfterGraceWindowReportsReuse() throws Exception {
+
+        store.tokens.add("old");
+        rotateConcurrently("old");
+
+        Thread.sleep(GRACE_MS * 2);
+
+        assertThatThrownBy(() -> service.rotate("old", USERNAME, "ROLE_USER", 0L))
+                .isInstanceOf(RefreshTokenReusedException.class);
+        assertThat(store.rotateCalls.get()).isEqualTo(2);
+    }
+
+    // 저장되어 있지 않은 토큰은 모든 요청이 null을 받음
+    @Test
+    void unknownTokenIsRejectedForEveryCaller() throws Exception {
+
+        List<TokenPair> pairs = rotateConcurrently("unknown");
+
+        assertThat(pairs).hasSize(THREADS).containsOnlyNulls();
+        assertThat(store.rotateCalls.get()).isEqualTo(1);
+        assertThat(sessions.replaced).isEmpty();
+    }
+
+    // 실패한 회전은 공유하지 않으므로 다음 요청은 다시 시도
+    @Test
+    void failedRotationIsRetried() {
+
+        store.tokens.add("old");
+        store.release.countDown();
+        store.failing = true;
+
+        assertThatThrownBy(() -> service.rotate("old", USERNAME, "ROLE_USER", 0L))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        store.failing = false;
+
+        assertThat(service.rotate("old", USERNAME, "ROLE_USER", 0L)).isNotNull();
+        assertThat(store.rotateCalls.get()).isEqualTo(2);
+    }
+
+    // THREADS개 스레드에서 같은 토큰으로 회전 (첫 요청은 나머지가 모두 대기할 때까지 저장소에서 멈춤)
+    private List<TokenPair> rotateConcurrently(String refresh) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Thread> threads = new CopyOnWriteArrayList<>();
+            List<Future<TokenPair>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    threads.add(Thread.currentThread());
+                    return service.rotate(refresh, USERNAME, "ROLE_USER", 0L);
+                }));
+            }
+
+            awaitAllWaiting(threads);
+            store.release.countDown();
+
+            List<TokenPair> pairs = new ArrayList<>();
+            for (Future<TokenPair> future : futures) {
+                pairs.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return pairs;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 모든 스레드가 저장소 호출 또는 진행 중인 회전 결과를 기다리는 상태가 될 때까지 대기
+    private void awaitAllWaiting(List<Thread> threads) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (store.rotateCalls.get() == 1 && threads.size() == THREADS
+                    && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double coalesced() {
+        return registry.get("auth.outcome").tag("flow", "reissue").tag("outcome", "coalesced").counter().count();
+    }
+
+    // Refresh 토큰 저장소 대역 (release 전까지 회전이 끝나지 않음, 회전된 토큰은 유예 시간이 지나면 재사용으로 판단)
+    private static class SlowRefreshTokenStore implements RefreshTokenStore {
+
+        final Collection<String> tokens = ConcurrentHashMap.newKeySet();
+        final Map<String, Long> rotatedAt = new ConcurrentHashMap<>();
+        final AtomicInteger rotateCalls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        volatile boolean failing;
+
+        @Override
+        public void save(String refresh, String username) {
+            tokens.add(refresh);
+        }
+
+        @Override
+        public boolean exists(String refresh, String username) {
+            return tokens.contains(refresh);
+        }
+
+        @Override
+        public boolean delete(String refresh, String username) {
+            return tokens.remove(refresh);
+        }
+
+        @Override
+        public TokenPair rotate(String oldRefresh, TokenPair next, String username) {
+
+            rotateCalls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failing) {
+                throw new QueryTimeoutException("injected timeout");
+            }
+
+            Long rotated = rotatedAt.get(oldRefresh);
+            if (rotated != null && System.currentTimeMillis() - rotated >= GRACE_MS) {
+                throw new RefreshTokenReusedException();
+            }
+            if (!tokens.remove(oldRefresh)) {
+                return null;
+            }
+            tokens.add(next.getRefresh());
+            rotatedAt.put(oldRefresh, System.currentTimeMillis());
+
+            return next;
+        }
+
+        @Override
+        public long revoke(String username, Collection<String> sessionIds) {
+            return 0L;
+        }
+
+    }
+
+    // 세션 목록 저장소 대역 (재발급 시 세션 ID 변경만 기록)
+    private static class CountingRefreshSessionStore implements RefreshSessionStore {
+
+        final List<String> replaced = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void add(String refresh, String username, String ip, String device) {
+        }
+
+        @Override
+        public void replace(String oldRefresh, String newRefresh, String username) {
+            replaced.add(oldRefresh + ">" + newRefresh);
+        }
+
+        @Override
+        public void remove(String refresh, String username) {
+        }
+
+        @Override
+        public RefreshSessionPage list(String username, String cursor, int size) {
+            return new RefreshSessionPage(List.of(), null);
+        }
+
+        @Override
+        public long revoke(String username, Collection<String> sessionIds) {
+            return 0L;
+        }
+
+        @Override
+        public void clear(String username) {
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.metrics.AuthMetrics;
+import com.example.springjwt.repository.TokenGenerationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenGenerationServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final FakeTokenGenerationStore store = new FakeTokenGenerationStore();
+
+    // 갱신 주기를 길게 잡아 캐시에 있는 값은 테스트 중 다시 조회하지 않음
+    private final TokenGenerationService service = new TokenGenerationService(store, new AuthMetrics(registry), 60_000L, 1000L, 1);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void readsGenerationFromStore() {
+
+        store.generations.put("user", 3L);
+
+        assertThat(service.current("user")).isEqualTo(3L);
+        assertThat(service.isCurrent("user", 3L)).isTrue();
+        assertThat(service.isCurrent("user", 2L)).isFalse();
+        assertThat(unavailableCount()).isZero();
+    }
+
+    // 캐시에 없는 사용자의 세대 번호를 읽지 못하면 초기 세대로 간주 (모든 토큰 허용, 예외 없음)
+    @Test
+    void treatsUnknownGenerationAsCurrentWhenStoreFails() {
+
+        store.failing = true;
+
+        assertThat(service.current("cold")).isEqualTo(TokenGenerationService.UNKNOWN_GENERATION);
+        assertThat(service.isCurrent("cold", 0L)).isTrue();
+        assertThat(service.currentAsync("cold").join()).isEqualTo(TokenGenerationService.UNKNOWN_GENERATION);
+        assertThat(unavailableCount()).isEqualTo(3.0);
+    }
+
+    // 이미 캐시에 있는 세대 번호는 장애 중에도 그대로 적용 (모든 기기에서 로그아웃된 토큰은 계속 거부)
+    @Test
+    void keepsCachedGenerationWhenStoreFails() {
+
+        store.generations.put("user", 2L);
+        assertThat(service.current("user")).isEqualTo(2L);
+
+        store.failing = true;
+
+        assertThat(service.isCurrent("user", 1L)).isFalse();
+        assertThat(service.currentAsync("user").join()).isEqualTo(2L);
+        assertThat(unavailableCount()).isZero();
+    }
+
+    // 조회 실패는 캐시하지 않으므로 복구 후 다음 조회에서 실제 세대 번호를 읽음
+    @Test
+    void readsStoreAgainAfterRecovery() {
+
+        store.generations.put("user", 5L);
+        store.failing = true;
+        assertThat(service.current("user")).isEqualTo(TokenGenerationService.UNKNOWN_GENERATION);
+
+        store.failing = false;
+
+        assertThat(service.current("user")).isEqualTo(5L);
+        assertThat(service.isCurrent("user", 0L)).isFalse();
+        assertThat(store.reads.get()).isEqualTo(2);
+    }
+
+    private double unavailableCount() {
+        return registry.get("auth.generation.unavailable").counter().count();
+    }
+
+    // 세대 번호 저장소 대역 (failing이면 연결 실패)
+    private static class FakeTokenGenerationStore implements TokenGenerationStore {
+
+        final Map<String, Long> generations = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+
+        volatile boolean failing;
+
+        @Override
+        public long get(String username) {
+
+            reads.incrementAndGet();
+            check();
+            return generations.getOrDefault(username, 0L);
+        }
+
+        @Override
+        public long increment(String username) {
+
+            check();
+            return generations.merge(username, 1L, Long::sum);
+        }
+
+        private void check() {
+
+            if (failing) {
+                throw new RedisConnectionFailureException("injected failure");
+            }
+        }
+
+    }
+
+}
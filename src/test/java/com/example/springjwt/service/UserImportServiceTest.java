@@ -0,0 +1,206 @@
+package com.example.springjwt.service;
+
+import com.example.springjwt.dto.UserImportResult;
+import com.example.springjwt.entity.UserEntity;
+import com.example.springjwt.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(UserRepository.USER_CACHE);
+
+    private final FakeUsers users = new FakeUsers();
+
+    private UserImportService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    private UserImportResult importCsv(int batchSize, String csv) throws IOException {
+
+        // bcrypt 최소 강도(4)로 해싱
+        service = new UserImportService(users.repository, mock(PlatformTransactionManager.class), cacheManager, 4, 2, batchSize);
+        return service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importsRowsAndSkipsHeader() throws IOException {
+
+        UserImportResult result = importCsv(10, "username,password,role\nuser1,pw1\nuser2,pw2,ROLE_ADMIN\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isZero();
+        assertThat(result.getInvalid()).isZero();
+        assertThat(users.stored.get("user1").getRole()).isEqualTo("ROLE_USER");
+        assertThat(users.stored.get("user2").getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(users.batchSaves).isEqualTo(1);
+    }
+
+    // BOM과 큰따옴표로 감싼 헤더도 헤더로 인식
+    @Test
+    void detectsQuotedHeaderAfterBom() throws IOException {
+
+        UserImportResult result = importCsv(10, "\uFEFF\"username\",\"password\"\r\nuser1,pw1\r\n");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getInvalid()).isZero();
+        assertThat(users.stored).containsOnlyKeys("user1");
+    }
+
+    // 비밀번호 안의 쉼표, 큰따옴표, 줄바꿈이 그대로 저장됨
+    @Test
+    void keepsQuotedPasswordsIntact() throws IOException {
+
+        UserImportResult result = importCsv(10, "user1,\"p,a\"\"ss\"\nuser2,\"two\nlines\",ROLE_ADMIN\n");
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(encoder.matches("p,a\"ss", users.stored.get("user1").getPassword())).isTrue();
+        assertThat(encoder.matches("two\nlines", users.stored.get("user2").getPassword())).isTrue();
+        assertThat(users.stored.get("user2").getRole()).isEqualTo("ROLE_ADMIN");
+    }
+
+    @Test
+    void countsInvalidRecords() throws IOException {
+
+        UserImportResult result = importCsv(10, String.join("\n",
+                "user1",                 // 비밀번호 없음
+                "user2,",                // 빈 비밀번호
+                ",pw3",                  // 빈 username
+                "user4,pw4,ROLE_USER,x", // 필드가 많음
+                "user5,\"pw5\"x",        // 닫는 큰따옴표 뒤 문자
+                "",
+                "user6,pw6"));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(5);
+        assertThat(users.stored).containsOnlyKeys("user6");
+    }
+
+    // 배치 안에 같은 username이 있으면 배치 전체가 롤백되고 한 건씩 다시 저장 (첫 번째만 저장)
+    @Test
+    void fallsBackToSingleInsertsOnDuplicateInBatch() throws IOException {
+
+        UserImportResult result = importCsv(10, "user1,pw1\nuser2,pw2\nuser1,other\nuser3,pw3\n");
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(users.stored).containsOnlyKeys("user1", "user2", "user3");
+        assertThat(new BCryptPasswordEncoder(4).matches("pw1", users.stored.get("user1").getPassword())).isTrue();
+        // 롤백된 INSERT의 id를 지우고 새 엔티티로 저장
+        assertThat(users.singleSaveIds).containsOnly(0);
+        assertThat(users.singleSaveIds).hasSize(4);
+    }
+
+    // 이미 가입된 username이 섞인 배치만 한 건씩 저장하고 다른 배치는 그대로 배치 저장
+    @Test
+    void fallsBackOnlyForBatchWithExistingUser() throws IOException {
+
+        users.existing("user3");
+
+        UserImportResult result = importCsv(2, "user1,pw1\nuser2,pw2\nuser3,pw3\nuser4,pw4\nuser5,pw5\n");
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(users.batchSaves).isEqualTo(3);
+        assertThat(users.singleSaveIds).hasSize(2);
+        assertThat(users.stored).containsKeys("user1", "user2", "user4", "user5");
+    }
+
+    // 가입 전 조회로 캐시된 "없는 사용자" 항목 제거
+    @Test
+    void evictsCachedMissingUsers() throws IOException {
+
+        Cache cache = cacheManager.getCache(UserRepository.USER_CACHE);
+        cache.put("user1", null);
+        cache.put("other", null);
+
+        importCsv(10, "user1,pw1\n");
+
+        assertThat(cache.get("user1")).isNull();
+        assertThat(cache.get("other")).isNotNull();
+    }
+
+    // username 유니크 인덱스를 흉내 내는 저장소 (배치 저장은 id를 받은 뒤 위반 시 롤백)
+    private static class FakeUsers {
+
+        final UserRepository repository = mock(UserRepository.class);
+        final Map<String, UserEntity> stored = new ConcurrentHashMap<>();
+        final List<Integer> singleSaveIds = new ArrayList<>();
+
+        int batchSaves;
+        private int nextId = 1;
+
+        FakeUsers() {
+
+            when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+
+                Iterable<UserEntity> batch = invocation.getArgument(0);
+                batchSaves++;
+
+                Set<String> usernames = new HashSet<>();
+                boolean violation = false;
+                for (UserEntity user : batch) {
+                    user.setId(nextId++);
+                    violation |= !usernames.add(user.getUsername()) || stored.containsKey(user.getUsername());
+                }
+                if (violation) {
+                    throw new DataIntegrityViolationException("uk_user_username");
+                }
+                for (UserEntity user : batch) {
+                    stored.put(user.getUsername(), user);
+                }
+
+                return batch;
+            });
+
+            when(repository.saveAndFlush(any(UserEntity.class))).thenAnswer(invocation -> {
+
+                UserEntity user = invocation.getArgument(0);
+                singleSaveIds.add(user.getId());
+                if (stored.containsKey(user.getUsername())) {
+                    throw new DataIntegrityViolationException("uk_user_username");
+                }
+                user.setId(nextId++);
+                stored.put(user.getUsername(), user);
+
+                return user;
+            });
+        }
+
+        void existing(String username) {
+
+            UserEntity user = new UserEntity();
+            user.setUsername(username);
+            stored.put(username, user);
+        }
+
+    }
+
+}